@@ -0,0 +1,183 @@
+package cookbook;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// The same catalogue as JSON and as CSV reads into the same recipes, and converting either to a .rcb file and
+// opening it gives every field back unchanged, spellings and escaped text included. Bad input fails with a message
+// naming the recipe and the problem
+class BinaryRecipeRepositoryTest {
+    private static final String JSON = "[\n"
+            + "  {\"name\": \"Cr\\u00e8me Br\\u00fbl\\u00e9e\", \"ingredients\": [\"Round Trip Cream\", \"Egg\", \"round trip sugar\"],\n"
+            + "   \"instructions\": \"Whisk \\\"gently\\\".\\nBake, then chill.\", \"cookingTime\": 40,\n"
+            + "   \"imagePath\": \"images\\/brulee.jpg\", \"difficulty\": \"hard\", \"prepTime\": \"15\",\n"
+            + "   \"cuisineType\": \"french\", \"dietaryPreferences\": [\"Vegetarian\", \"gluten-free\"]},\n"
+            + "  {\"name\": \"Plain Rice\", \"ingredients\": \"Rice\", \"instructions\": \"Boil.\", \"cookingTime\": 20,\n"
+            + "   \"imagePath\": \"\", \"difficulty\": \"Easy\", \"prepTime\": 0, \"cuisineType\": \"Indian\",\n"
+            + "   \"dietaryPreferences\": []}\n"
+            + "]";
+    private static final String CSV = "name,ingredients,instructions,cookingTime,imagePath,difficulty,prepTime,cuisineType,dietaryPreferences\r\n"
+            + "Crème Brûlée,\"Round Trip Cream, Egg, round trip sugar\",\"Whisk \"\"gently\"\".\nBake, then chill.\",40,"
+            + "images/brulee.jpg,hard,15,french,\"Vegetarian, gluten-free\"\r\n"
+            + "\r\n"
+            + "Plain Rice,Rice,Boil.,20,,Easy,0,Indian,\r\n";
+
+    @TempDir
+    Path directory;
+
+    // The dictionaries spell these names differently from the recipes, so the recipes keep their own text
+    @BeforeAll
+    static void spellNames() {
+        Recipe.INGREDIENTS.intern("Round Trip Sugar");
+        Recipe.CUISINES.intern("French");
+        Recipe.DIETARY_TAGS.intern("Gluten-Free");
+    }
+
+    @Test
+    void jsonAndCsvReadTheSameRecipes() throws IOException {
+        List<Recipe> json = readAll(new JsonRecipeReader(new StringReader(JSON)));
+        List<Recipe> csv = readAll(new CsvRecipeReader(new StringReader(CSV)));
+        assertEquals(2, json.size());
+        assertSameRecipes(json, csv);
+
+        Recipe brulee = json.get(0);
+        assertEquals("Crème Brûlée", brulee.getName());
+        assertEquals("Whisk \"gently\".\nBake, then chill.", brulee.getInstructions());
+        assertEquals("images/brulee.jpg", brulee.getImagePath());
+        assertEquals("Round Trip Cream, Egg, round trip sugar", brulee.getIngredients());
+        assertEquals("french", brulee.getCuisineType());
+        assertEquals("Vegetarian, gluten-free", brulee.getDietaryPreferences());
+        assertEquals(Difficulty.HARD, brulee.getDifficultyLevel());
+        assertEquals(Recipe.INGREDIENTS.idOf("Round Trip Sugar"), brulee.getIngredientIds()[2]);
+        assertEquals("", json.get(1).getDietaryPreferences());
+    }
+
+    @Test
+    void binaryRoundTripKeepsEveryField() throws IOException {
+        for (String source : new String[]{"recipes.json", "recipes.csv"}) {
+            Path input = directory.resolve(source);
+            Files.writeString(input, source.endsWith(".json") ? JSON : CSV, StandardCharsets.UTF_8);
+            List<Recipe> expected = readAll(RecipeReader.open(input));
+            Path catalogue = directory.resolve(source + BinaryRecipeRepository.EXTENSION);
+            try (RecipeReader reader = RecipeReader.open(input)) {
+                assertEquals(2, BinaryRecipeWriter.write(reader, catalogue));
+            }
+            try (RecipeRepository repository = RecipeRepository.open(catalogue)) {
+                assertEquals(expected.size(), repository.size());
+                assertSameRecipes(expected, repository.asList());
+            }
+        }
+    }
+
+    @Test
+    void generatedCatalogueRoundTrips() throws IOException {
+        List<Recipe> expected = TestRecipes.generate(3000, 23);
+        Path catalogue = directory.resolve("generated" + BinaryRecipeRepository.EXTENSION);
+        try (BinaryRecipeWriter writer = new BinaryRecipeWriter(catalogue)) {
+            for (Recipe recipe : expected) {
+                writer.add(recipe);
+            }
+        }
+        try (BinaryRecipeRepository repository = new BinaryRecipeRepository(catalogue)) {
+            assertSameRecipes(expected, repository.asList());
+            assertThrows(IndexOutOfBoundsException.class, () -> repository.get(expected.size()));
+        }
+    }
+
+    @Test
+    void rejectsOtherVersionsAndFiles() throws IOException {
+        Path catalogue = directory.resolve("old" + BinaryRecipeRepository.EXTENSION);
+        try (BinaryRecipeWriter writer = new BinaryRecipeWriter(catalogue)) {
+            writer.add(TestRecipes.recipe("Garlic Bread", "Bread, Garlic"));
+        }
+        try (FileChannel file = FileChannel.open(catalogue, StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.allocate(4).putInt(0, BinaryRecipeRepository.VERSION + 1), 4);
+        }
+        IOException version = assertThrows(IOException.class, () -> new BinaryRecipeRepository(catalogue));
+        assertEquals("Unsupported catalogue version " + (BinaryRecipeRepository.VERSION + 1)
+                + ", convert it again with RecipeStoreTool: " + catalogue, version.getMessage());
+
+        Path text = directory.resolve("text" + BinaryRecipeRepository.EXTENSION);
+        Files.writeString(text, JSON);
+        IOException magic = assertThrows(IOException.class, () -> new BinaryRecipeRepository(text));
+        assertEquals("Not a recipe catalogue: " + text, magic.getMessage());
+    }
+
+    @Test
+    void malformedJsonNamesTheProblem() {
+        assertJsonError("Malformed JSON after recipe #0: expected '['", "{\"name\": \"Soup\"}");
+        assertJsonError("Malformed JSON after recipe #1: expected ',' or ']'", JSON.replace("},\n", "}\n"));
+        assertJsonError("Malformed JSON after recipe #0: invalid unicode escape", JSON.replace("\\u00e8", "\\u00g8"));
+        assertJsonError("Malformed JSON after recipe #1: unterminated string", JSON.substring(0, JSON.lastIndexOf("Boil")));
+        assertJsonError("Invalid recipe #2: missing field instructions", JSON.replace("\"instructions\": \"Boil.\", ", ""));
+        assertJsonError("Invalid recipe #1: Unknown difficulty: Extreme", JSON.replace("\"hard\"", "\"Extreme\""));
+        assertJsonError("Invalid recipe #2: For input string: \"soon\"", JSON.replace("\"cookingTime\": 20", "\"cookingTime\": \"soon\""));
+    }
+
+    @Test
+    void malformedCsvNamesTheProblem() {
+        assertCsvError("Recipe #2 has 8 columns, expected 9", CSV.replace(",Easy,", ","));
+        assertCsvError("Unterminated quoted field in recipe #2", CSV.replace("Plain Rice", "\"Plain Rice"));
+        assertCsvError("Invalid recipe #1: missing field imagePath", CSV.replace("imagePath", "image"));
+    }
+
+    private static void assertJsonError(String message, String json) {
+        IOException error = assertThrows(IOException.class, () -> readAll(new JsonRecipeReader(new StringReader(json))));
+        assertEquals(message, error.getMessage());
+    }
+
+    private static void assertCsvError(String message, String csv) {
+        IOException error = assertThrows(IOException.class, () -> readAll(new CsvRecipeReader(new StringReader(csv))));
+        assertEquals(message, error.getMessage());
+    }
+
+    private static List<Recipe> readAll(RecipeReader reader) throws IOException {
+        List<Recipe> recipes = new ArrayList<>();
+        try (reader) {
+            Recipe recipe;
+            while ((recipe = reader.next()) != null) {
+                recipes.add(recipe);
+            }
+            assertNull(reader.next()); // Stays exhausted
+        }
+        return recipes;
+    }
+
+    private static void assertSameRecipes(List<Recipe> expected, List<Recipe> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int id = 0; id < expected.size(); id++) {
+            Recipe want = expected.get(id);
+            Recipe got = actual.get(id);
+            String where = "recipe " + id;
+            assertEquals(want.getName(), got.getName(), where);
+            assertEquals(want.getIngredients(), got.getIngredients(), where);
+            assertArrayEquals(want.getIngredientIds(), got.getIngredientIds(), where);
+            assertEquals(want.getInstructions(), got.getInstructions(), where);
+            assertEquals(want.getCookingTime(), got.getCookingTime(), where);
+            assertEquals(want.getImagePath(), got.getImagePath(), where);
+            assertEquals(want.getDifficultyLevel(), got.getDifficultyLevel(), where);
+            assertEquals(want.getPrepTime(), got.getPrepTime(), where);
+            assertEquals(want.getCuisineType(), got.getCuisineType(), where);
+            assertEquals(want.getCuisineId(), got.getCuisineId(), where);
+            assertEquals(want.getDietaryPreferences(), got.getDietaryPreferences(), where);
+            assertArrayEquals(want.getDietaryIds(), got.getDietaryIds(), where);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// A segment picks its own live recipes out of catalogue ids, whether its ids are consecutive or not, and an empty
+// segment picks none
+class CatalogueSegmentTest {
+    private static final int[] CATALOGUE_IDS = {0, 2, 3, 5, 8, 9, 12};
+
+    @Test
+    void emptySegmentHoldsNone() {
+        CatalogueSegment empty = CatalogueSegment.range(List.of(), 0, true);
+        assertArrayEquals(new int[0], empty.local(CATALOGUE_IDS, null));
+        assertArrayEquals(new int[0], empty.local(new int[0], null));
+        assertArrayEquals(new int[0], empty.local(new int[]{Integer.MAX_VALUE}, new BitSet()));
+        assertNull(empty.local(null, null));
+    }
+
+    @Test
+    void picksConsecutiveIds() {
+        CatalogueSegment segment = CatalogueSegment.range(TestRecipes.generate(5, 1), 2, true); // Ids 2..6
+        assertArrayEquals(new int[]{0, 1, 3}, segment.local(CATALOGUE_IDS, null));
+        BitSet deleted = new BitSet();
+        deleted.set(1);
+        assertArrayEquals(new int[]{0, 3}, segment.local(CATALOGUE_IDS, deleted));
+    }
+
+    @Test
+    void picksScatteredIds() {
+        CatalogueSegment segment = new CatalogueSegment(new int[]{1, 3, 9, 12, 20}, TestRecipes.generate(5, 2), true);
+        assertArrayEquals(new int[]{1, 2, 3}, segment.local(CATALOGUE_IDS, null));
+        BitSet deleted = new BitSet();
+        deleted.set(3);
+        assertArrayEquals(new int[]{1, 2}, segment.local(CATALOGUE_IDS, deleted));
+        assertArrayEquals(new int[]{9, 12}, segment.toCatalogueIds(new int[]{2, 3}));
+    }
+}
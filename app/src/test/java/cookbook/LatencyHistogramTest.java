@@ -0,0 +1,90 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Values below 64 are counted exactly; larger ones land in a bucket at most about 3% wide, and a percentile
+// reports the top of its bucket, never more than the largest value recorded
+class LatencyHistogramTest {
+    private final LatencyHistogram histogram = new LatencyHistogram("test", "ns");
+
+    @Test
+    void smallValuesAreExact() {
+        for (int value = 0; value < 64; value++) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(64, snapshot.getCount());
+        assertEquals(63, snapshot.getMax());
+        assertEquals(31.5, snapshot.getMean());
+        assertEquals(0, snapshot.percentile(0));
+        assertEquals(31, snapshot.percentile(0.5));
+        assertEquals(62, snapshot.percentile(0.98));
+        assertEquals(63, snapshot.percentile(1));
+    }
+
+    // With one value far above it, the median is the top of the value's own bucket
+    @Test
+    void bucketsAreAtMostAThirtySecondWide() {
+        assertEquals(65, medianWithLargerValue(64)); // The first two-wide bucket is 64..65
+        assertEquals(127, medianWithLargerValue(126));
+        assertEquals(131, medianWithLargerValue(128)); // Then four wide from 128
+        assertEquals(1023, medianWithLargerValue(1008));
+        assertEquals(1055, medianWithLargerValue(1024));
+        SplittableRandom random = new SplittableRandom(9);
+        for (int i = 0; i < 1000; i++) {
+            long value = 64 + random.nextLong(LatencyHistogram.MAX_VALUE / 2);
+            long top = medianWithLargerValue(value);
+            assertTrue(top >= value && top - value <= value / 32, value + " reported as " + top);
+        }
+    }
+
+    @Test
+    void valuesOutsideTheRangeAreClamped() {
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.percentile(0.5));
+        assertEquals(LatencyHistogram.MAX_VALUE, snapshot.percentile(1));
+        assertEquals(LatencyHistogram.MAX_VALUE, snapshot.getMax());
+    }
+
+    @Test
+    void percentilesFollowTheDistribution() {
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertWithin(500_000, snapshot.percentile(0.5));
+        assertWithin(990_000, snapshot.percentile(0.99));
+        assertEquals(1_000_000, snapshot.percentile(1)); // Capped at the largest value, not its bucket's top
+        assertEquals(500_500, snapshot.getMean());
+    }
+
+    @Test
+    void emptyAndResetReportZero() {
+        assertEquals(0, histogram.snapshot().percentile(0.5));
+        histogram.record(1234);
+        histogram.reset();
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(0, snapshot.getCount());
+        assertEquals(0, snapshot.getMax());
+        assertEquals(0, snapshot.getMean());
+        assertEquals(0, snapshot.percentile(0.99));
+    }
+
+    private long medianWithLargerValue(long value) {
+        histogram.reset();
+        histogram.record(value);
+        histogram.record(LatencyHistogram.MAX_VALUE);
+        return histogram.snapshot().percentile(0.5);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(actual >= expected && actual - expected <= expected / 32, expected + " reported as " + actual);
+    }
+}
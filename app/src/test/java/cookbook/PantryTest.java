@@ -0,0 +1,91 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Pantry search groups recipes by how many of their distinct ingredients the pantry lacks; every bucket must hold
+// exactly the recipes a recipe-by-recipe count puts there
+class PantryTest {
+    private final List<Recipe> recipes = TestRecipes.generate(2000, 41);
+
+    @Test
+    void bucketsMatchCountingEachRecipe() {
+        RecipeSearcher searcher = new RecipeSearcher(recipes, 1);
+        SplittableRandom random = new SplittableRandom(3);
+        for (int q = 0; q < 200; q++) {
+            Pantry pantry = randomPantry(random);
+            int maxMissing = random.nextInt(5);
+            int[][] byMissing = searcher.pantry(pantry, maxMissing, SortOrder.RELEVANCE);
+            assertEquals(maxMissing + 1, byMissing.length);
+            for (int m = 0; m <= maxMissing; m++) {
+                int missing = m;
+                assertArrayEquals(IntStream.range(0, recipes.size())
+                                .filter(id -> missing(recipes.get(id), pantry) == missing).toArray(),
+                        byMissing[m], pantry + " missing " + m);
+            }
+        }
+    }
+
+    // Sorted buckets hold the same recipes, quickest first and in catalogue order on ties; deleted recipes drop out
+    @Test
+    void sortedBucketsSkipDeletedRecipes() {
+        RecipeCatalogue catalogue = new RecipeCatalogue(new ArrayList<>(recipes));
+        for (int id = 0; id < recipes.size(); id += 7) {
+            catalogue.delete(id);
+        }
+        RecipeSearcher searcher = catalogue.snapshot();
+        Pantry pantry = Pantry.parse("Garlic, Onion, Rice\nEgg");
+        int[][] byMissing = searcher.pantry(pantry, 2, SortOrder.TOTAL_TIME);
+        for (int m = 0; m <= 2; m++) {
+            int missing = m;
+            assertArrayEquals(IntStream.range(0, recipes.size())
+                            .filter(id -> id % 7 != 0 && missing(recipes.get(id), pantry) == missing).boxed()
+                            .sorted(Comparator.comparingInt((Integer id) -> totalTime(recipes.get(id))))
+                            .mapToInt(Integer::intValue).toArray(),
+                    byMissing[m], "missing " + m);
+        }
+    }
+
+    @Test
+    void parseIgnoresCaseDuplicatesAndUnknownNames() {
+        TestRecipes.recipe("Garlic Rice", "Garlic, Rice"); // Makes sure both names are in the dictionary
+        Pantry pantry = Pantry.parse(" garlic,RICE\n\nGarlic, Unobtainium ");
+        assertEquals(2, pantry.getIngredientIds().length);
+        assertEquals(List.of("Unobtainium"), pantry.getUnknown());
+        assertTrue(pantry.contains(Recipe.INGREDIENTS.idOf("Rice")));
+    }
+
+    // One to six ingredients from the test vocabulary, in any case, with the odd name no recipe uses
+    private static Pantry randomPantry(SplittableRandom random) {
+        StringBuilder text = new StringBuilder();
+        for (int n = 1 + random.nextInt(6); n > 0; n--) {
+            String name = TestRecipes.INGREDIENTS[random.nextInt(TestRecipes.INGREDIENTS.length)];
+            text.append(random.nextBoolean() ? name : name.toLowerCase()).append(random.nextBoolean() ? ", " : "\n");
+        }
+        return Pantry.parse(text.append(random.nextInt(4) == 0 ? "Saffron Threads" : "").toString());
+    }
+
+    // Distinct ingredients of the recipe not in the pantry, compared by name ignoring case
+    private static int missing(Recipe recipe, Pantry pantry) {
+        Set<String> owned = Arrays.stream(pantry.toString().split(", ")).map(String::toLowerCase)
+                .collect(Collectors.toSet());
+        return (int) Arrays.stream(recipe.getIngredientNames()).map(String::toLowerCase).distinct()
+                .filter(name -> !owned.contains(name)).count();
+    }
+
+    private static int totalTime(Recipe recipe) {
+        return recipe.getCookingTime() + recipe.getPrepTime();
+    }
+}
@@ -0,0 +1,162 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Edits publish new snapshots: a snapshot taken before an edit must keep answering as before, and every
+// snapshot taken after it must see the edit
+class RecipeCatalogueTest {
+    @Test
+    void updateIsVisibleInLaterSnapshotsOnly() {
+        RecipeCatalogue catalogue = new RecipeCatalogue(new ArrayList<>(List.of(
+                TestRecipes.recipe("Garlic Bread", "Bread, Garlic"), TestRecipes.recipe("Tomato Soup", "Tomato"))));
+        RecipeSearcher before = catalogue.snapshot();
+        Recipe replacement = TestRecipes.recipe("Onion Soup", "Onion");
+        catalogue.update(1, replacement);
+        RecipeSearcher after = catalogue.snapshot();
+
+        assertEquals("Tomato Soup", before.get(1).getName());
+        assertArrayEquals(new int[]{1}, before.search(query("tomato")));
+        assertArrayEquals(new int[0], before.search(query("onion")));
+
+        assertSame(replacement, after.get(1));
+        assertSame(replacement, catalogue.get(1));
+        assertArrayEquals(new int[0], after.search(query("tomato")));
+        assertArrayEquals(new int[]{1}, after.search(query("onion")));
+        assertArrayEquals(new int[]{1}, after.search(query("soup")));
+        assertEquals(2, after.size());
+    }
+
+    @Test
+    void deleteIsVisibleInLaterSnapshotsOnly() {
+        RecipeCatalogue catalogue = new RecipeCatalogue(new ArrayList<>(List.of(
+                TestRecipes.recipe("Garlic Bread", "Bread, Garlic"), TestRecipes.recipe("Garlic Soup", "Garlic"))));
+        RecipeSearcher before = catalogue.snapshot();
+        catalogue.delete(0);
+        RecipeSearcher after = catalogue.snapshot();
+
+        assertArrayEquals(new int[]{0, 1}, before.search(query("garlic")));
+        assertEquals("Garlic Bread", before.get(0).getName());
+        assertEquals(2, before.cuisineCount("Italian"));
+
+        assertArrayEquals(new int[]{1}, after.search(query("garlic")));
+        assertNull(after.get(0));
+        assertEquals(1, after.size());
+        assertEquals(1, after.cuisineCount("Italian"));
+        assertThrows(IllegalArgumentException.class, () -> catalogue.update(0, TestRecipes.recipe("Toast", "Bread")));
+        assertThrows(IllegalArgumentException.class, () -> catalogue.delete(0));
+    }
+
+    @Test
+    void addedRecipesGetNewIdsThatAreNeverReused() {
+        RecipeCatalogue catalogue = new RecipeCatalogue(new ArrayList<>(List.of(TestRecipes.recipe("Rice Bowl", "Rice"))));
+        int first = catalogue.add(TestRecipes.recipe("Fried Rice", "Rice, Egg"));
+        catalogue.delete(first);
+        int second = catalogue.add(TestRecipes.recipe("Rice Pudding", "Rice, Milk"));
+
+        assertEquals(1, first);
+        assertEquals(2, second);
+        assertArrayEquals(new int[]{0, 2}, catalogue.snapshot().search(query("rice")));
+    }
+
+    // Many random edits force segments to be merged and rewritten; every snapshot must still match a plain list
+    @Test
+    void manyEditsMatchALinearScan() {
+        List<Recipe> initial = TestRecipes.generate(500, 31);
+        RecipeCatalogue catalogue = new RecipeCatalogue(new ArrayList<>(initial));
+        List<Recipe> expected = new ArrayList<>(initial); // Recipe of each id, null once deleted
+        List<Recipe> pool = TestRecipes.generate(400, 32); // Recipes added or swapped in
+        SplittableRandom random = new SplittableRandom(7);
+        for (int step = 0; step < 400; step++) {
+            int id = random.nextInt(expected.size());
+            Recipe recipe = pool.get(step);
+            if (random.nextInt(3) == 0) {
+                expected.add(recipe);
+                assertEquals(expected.size() - 1, catalogue.add(recipe));
+            } else if (expected.get(id) == null) {
+                continue;
+            } else if (random.nextBoolean()) {
+                expected.set(id, recipe);
+                catalogue.update(id, recipe);
+            } else {
+                expected.set(id, null);
+                catalogue.delete(id);
+            }
+            if (step % 20 == 0) {
+                String keyword = TestRecipes.INGREDIENTS[random.nextInt(TestRecipes.INGREDIENTS.length)].toLowerCase();
+                assertArrayEquals(scan(expected, keyword), catalogue.snapshot().search(query(keyword)), keyword + " at step " + step);
+            }
+        }
+        RecipeSearcher snapshot = catalogue.snapshot();
+        for (int id = 0; id < expected.size(); id++) {
+            assertSame(expected.get(id), snapshot.get(id));
+        }
+        assertEquals(expected.stream().filter(r -> r != null).count(), snapshot.size());
+        for (String cuisine : TestRecipes.CUISINES) {
+            assertEquals(expected.stream().filter(r -> r != null && r.getCuisineType().equals(cuisine)).count(),
+                    snapshot.cuisineCount(cuisine), cuisine);
+        }
+        for (String tag : TestRecipes.DIETARY) {
+            assertEquals(expected.stream().filter(r -> r != null && List.of(r.getDietaryNames()).contains(tag)).count(),
+                    snapshot.dietaryCount(tag), tag);
+        }
+        for (Difficulty difficulty : Difficulty.values()) {
+            assertEquals(expected.stream().filter(r -> r != null && r.getDifficultyLevel() == difficulty).count(),
+                    snapshot.difficultyCount(difficulty.getLabel()), difficulty.getLabel());
+        }
+    }
+
+    // Counts are kept per snapshot and adjusted by each edit, so older snapshots keep theirs
+    @Test
+    void facetCountsFollowEdits() {
+        RecipeCatalogue catalogue = new RecipeCatalogue(new ArrayList<>(List.of(TestRecipes.recipe("Garlic Bread", "Bread"),
+                new Recipe("Dal", "Lentils", "Simmer.", 30, "", "Medium", 10, "Indian", "Vegan, Vegan"))));
+        RecipeSearcher before = catalogue.snapshot();
+        catalogue.update(0, new Recipe("Chana Masala", "Chickpeas", "Simmer.", 40, "", "Hard", 10, "Indian", "Vegan"));
+        catalogue.delete(1);
+        catalogue.add(TestRecipes.recipe("Bruschetta", "Bread, Tomato"));
+        RecipeSearcher after = catalogue.snapshot();
+
+        assertEquals(1, before.cuisineCount("Italian"));
+        assertEquals(1, before.cuisineCount("Indian"));
+        assertEquals(1, before.dietaryCount("Vegan")); // Listed twice, counted once
+        assertEquals(2, before.difficultyCount("All"));
+
+        assertEquals(1, after.cuisineCount("Italian"));
+        assertEquals(1, after.cuisineCount("Indian"));
+        assertEquals(1, after.dietaryCount("Vegan"));
+        assertEquals(1, after.difficultyCount("Hard"));
+        assertEquals(0, after.difficultyCount("Medium"));
+        assertEquals(2, after.cuisineCount("All"));
+        assertEquals(0, after.cuisineCount("Atlantis"));
+    }
+
+    private static SearchQuery query(String keywords) {
+        return new SearchQuery(SearchQuery.keywordsOf(keywords), "All", "All", "All");
+    }
+
+    private static int[] scan(List<Recipe> recipes, String keyword) {
+        return IntStream.range(0, recipes.size()).filter(id -> {
+            Recipe recipe = recipes.get(id);
+            if (recipe == null) {
+                return false;
+            }
+            for (String name : recipe.getIngredientNames()) {
+                if (name.equalsIgnoreCase(keyword)) {
+                    return true;
+                }
+            }
+            return recipe.getName().toLowerCase().contains(keyword);
+        }).toArray();
+    }
+}
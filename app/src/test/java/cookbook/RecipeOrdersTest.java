@@ -0,0 +1,72 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// Sparse matches are arranged by sorting their ranks and dense ones by walking the whole order; both must list
+// the matches exactly as sorting them by the order's key, then by id, would
+class RecipeOrdersTest {
+    private final List<Recipe> recipes = TestRecipes.generate(6400, 5);
+    private final RecipeOrders orders = new RecipeOrders(recipes);
+
+    @Test
+    void sparseAndDenseMatchesFollowTheSameOrder() {
+        SplittableRandom random = new SplittableRandom(6);
+        // 6400 recipes: fewer than 200 matches take the sparse path, the rest the dense one
+        for (int count : new int[]{0, 1, 20, 199, 200, 1000, 6400}) {
+            int[] matches = random.ints(0, recipes.size()).distinct().limit(count).sorted().toArray();
+            for (SortOrder order : SortOrder.values()) {
+                if (order != SortOrder.RELEVANCE) {
+                    assertArrayEquals(sorted(matches, order), orders.arrange(matches, order), order + " of " + count);
+                }
+            }
+        }
+    }
+
+    @Test
+    void ordersCompareByTheirKeys() {
+        int[] all = IntStream.range(0, recipes.size()).toArray();
+        int[] byTime = orders.arrange(all, SortOrder.TOTAL_TIME);
+        for (int i = 1; i < byTime.length; i++) {
+            assertOrdered(totalTime(byTime[i - 1]), totalTime(byTime[i]), byTime[i - 1], byTime[i]);
+        }
+        int[] byName = orders.arrange(all, SortOrder.NAME);
+        for (int i = 1; i < byName.length; i++) {
+            assertOrdered(String.CASE_INSENSITIVE_ORDER.compare(recipes.get(byName[i - 1]).getName(),
+                    recipes.get(byName[i]).getName()), 0, byName[i - 1], byName[i]);
+        }
+    }
+
+    private int[] sorted(int[] matches, SortOrder order) {
+        Comparator<Integer> byKey;
+        switch (order) {
+            case TOTAL_TIME:
+                byKey = Comparator.comparingInt(this::totalTime);
+                break;
+            case DIFFICULTY:
+                byKey = Comparator.comparing((Integer id) -> recipes.get(id).getDifficultyLevel()).thenComparingInt(this::totalTime);
+                break;
+            default:
+                byKey = Comparator.comparing(id -> recipes.get(id).getName(), String.CASE_INSENSITIVE_ORDER);
+        }
+        return Arrays.stream(matches).boxed().sorted(byKey.thenComparingInt(id -> id)).mapToInt(Integer::intValue).toArray();
+    }
+
+    private int totalTime(int id) {
+        return recipes.get(id).getCookingTime() + recipes.get(id).getPrepTime();
+    }
+
+    // Keys in order, and ties in catalogue order
+    private static void assertOrdered(int key, int nextKey, int id, int nextId) {
+        if (key > nextKey || key == nextKey && id > nextId) {
+            throw new AssertionError(id + " listed before " + nextId);
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// The best k of a ranking are the first k of all matches fully sorted by score, then total time, then id, and
+// merging the rankings of separately indexed parts gives the same answer as ranking the whole catalogue at once
+class RecipeRankerTest {
+    private static final String[] KEYWORDS = {"garlic", "chicken curry", "chick", "spicy rice bowl", "egg, milk", "zz"};
+
+    private final List<Recipe> recipes = TestRecipes.generate(5000, 31);
+
+    @Test
+    void topKIsThePrefixOfTheFullSort() {
+        RecipeRanker ranker = new RecipeRanker(recipes, true);
+        SplittableRandom random = new SplittableRandom(8);
+        for (String keywords : KEYWORDS) {
+            RecipeRanker.Statistics statistics = RecipeRanker.statistics(List.of(ranker), SearchQuery.keywordsOf(keywords));
+            int[] matches = IntStream.range(0, recipes.size()).filter(id -> random.nextInt(3) > 0).toArray();
+            RecipeRanker.Ranked all = ranker.top(matches, statistics, matches.length);
+
+            Integer[] sorted = new Integer[all.ids.length];
+            Arrays.setAll(sorted, position -> position);
+            Arrays.sort(sorted, Comparator.comparingDouble((Integer p) -> -all.scores[p])
+                    .thenComparingInt(p -> all.times[p]).thenComparingInt(p -> all.ids[p]));
+            int[] expected = Arrays.stream(sorted).mapToInt(p -> all.ids[p]).toArray();
+            assertArrayEquals(expected, all.ids, keywords);
+            assertArrayEquals(matches, Arrays.stream(all.ids).sorted().toArray(), keywords); // Every match exactly once
+            for (int position = 0; position < all.ids.length; position++) {
+                Recipe recipe = recipes.get(all.ids[position]);
+                assertEquals(recipe.getCookingTime() + recipe.getPrepTime(), all.times[position]);
+            }
+
+            for (int k : new int[]{0, 1, 7, 100, matches.length + 5}) {
+                RecipeRanker.Ranked top = ranker.top(matches, statistics, k);
+                assertArrayEquals(Arrays.copyOf(expected, Math.min(k, matches.length)), top.ids, keywords + " k=" + k);
+            }
+        }
+    }
+
+    // Recipes without any keyword all score zero, so they come quickest first
+    @Test
+    void unmatchedRecipesAreOrderedByTime() {
+        RecipeRanker ranker = new RecipeRanker(recipes, true);
+        RecipeRanker.Statistics statistics = RecipeRanker.statistics(List.of(ranker), SearchQuery.keywordsOf("zz"));
+        int[] matches = IntStream.range(0, 300).toArray();
+        RecipeRanker.Ranked top = ranker.top(matches, statistics, 20);
+        int[] expected = IntStream.range(0, 300).boxed()
+                .sorted(Comparator.comparingInt((Integer id) -> recipes.get(id).getCookingTime() + recipes.get(id).getPrepTime()))
+                .limit(20).mapToInt(Integer::intValue).toArray();
+        assertArrayEquals(expected, top.ids);
+        for (float score : top.scores) {
+            assertEquals(0f, score);
+        }
+    }
+
+    @Test
+    void mergedPartsRankLikeTheWhole() {
+        RecipeRanker whole = new RecipeRanker(recipes, true);
+        int[] starts = {0, 1200, 1201, 3900, recipes.size()}; // One part holds a single recipe
+        List<RecipeRanker> parts = new ArrayList<>();
+        for (int p = 0; p + 1 < starts.length; p++) {
+            parts.add(new RecipeRanker(recipes.subList(starts[p], starts[p + 1]), true));
+        }
+        SplittableRandom random = new SplittableRandom(12);
+        for (String keywords : KEYWORDS) {
+            String[] tokens = SearchQuery.keywordsOf(keywords);
+            int[] matches = IntStream.range(0, recipes.size()).filter(id -> random.nextInt(4) > 0).toArray();
+            for (int k : new int[]{1, 10, 250}) {
+                RecipeRanker.Ranked[] rankings = new RecipeRanker.Ranked[parts.size()];
+                for (int p = 0; p < rankings.length; p++) {
+                    int start = starts[p];
+                    int end = starts[p + 1];
+                    int[] local = Arrays.stream(matches).filter(id -> id >= start && id < end)
+                            .map(id -> id - start).toArray();
+                    rankings[p] = parts.get(p).top(local, RecipeRanker.statistics(parts, tokens), k);
+                    for (int i = 0; i < rankings[p].ids.length; i++) {
+                        rankings[p].ids[i] += start;
+                    }
+                }
+                int[] expected = whole.top(matches, RecipeRanker.statistics(List.of(whole), tokens), k).ids;
+                assertArrayEquals(expected, RecipeRanker.merge(rankings, k), keywords + " k=" + k);
+            }
+        }
+    }
+
+    @Test
+    void mergeTakesTheBestHeadEachTime() {
+        RecipeRanker.Ranked a = ranked(new int[]{4, 9, 1}, new float[]{3f, 2f, 2f}, new int[]{10, 5, 10});
+        RecipeRanker.Ranked b = ranked(new int[]{7, 2, 0}, new float[]{3f, 2f, 1f}, new int[]{5, 10, 1});
+        RecipeRanker.Ranked empty = ranked(new int[0], new float[0], new int[0]);
+        assertArrayEquals(new int[]{7, 4, 9, 1, 2, 0}, RecipeRanker.merge(new RecipeRanker.Ranked[]{a, empty, b}, 10));
+        assertArrayEquals(new int[]{7, 4}, RecipeRanker.merge(new RecipeRanker.Ranked[]{b, a}, 2));
+        assertEquals(0, RecipeRanker.merge(new RecipeRanker.Ranked[]{empty}, 5).length);
+    }
+
+    private static RecipeRanker.Ranked ranked(int[] ids, float[] scores, int[] times) {
+        RecipeRanker.Ranked ranked = new RecipeRanker.Ranked(ids.length);
+        System.arraycopy(ids, 0, ranked.ids, 0, ids.length);
+        System.arraycopy(scores, 0, ranked.scores, 0, ids.length);
+        System.arraycopy(times, 0, ranked.times, 0, ids.length);
+        return ranked;
+    }
+}
@@ -0,0 +1,92 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+// The keyword index must return exactly what a linear scan over the recipes returns: every recipe whose lowercased
+// name contains each keyword or that lists the keyword as one of its ingredients
+class RecipeSearchIndexTest {
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz '-";
+
+    private final List<Recipe> recipes = TestRecipes.generate(3000, 11);
+    private final RecipeSearchIndex index = new RecipeSearchIndex(recipes);
+
+    @Test
+    void matchesTheLinearScanForKeywordsOfEveryLength() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int q = 0; q < 2000; q++) {
+            String[] keywords = new String[1 + random.nextInt(3)];
+            for (int k = 0; k < keywords.length; k++) {
+                keywords[k] = randomKeyword(random);
+            }
+            assertArrayEquals(scan(keywords), index.search(keywords), String.join(",", keywords));
+        }
+    }
+
+    @Test
+    void shortKeywordsMatchAnywhereInTheName() {
+        RecipeSearchIndex small = new RecipeSearchIndex(List.of(TestRecipes.recipe("Egg Tart", "Egg, Flour"),
+                TestRecipes.recipe("Vegan Bowl", "Rice"), TestRecipes.recipe("Rice Pudding", "Rice, Milk")));
+        assertArrayEquals(new int[]{0, 1}, small.search(new String[]{"eg"}));
+        assertArrayEquals(new int[]{1, 2}, small.search(new String[]{"n"}));
+        assertArrayEquals(new int[]{2}, small.search(new String[]{"n", "ic"}));
+        assertArrayEquals(new int[0], small.search(new String[]{"zz"}));
+    }
+
+    @Test
+    void emptyKeywordMatchesEveryRecipe() {
+        assertArrayEquals(IntStream.range(0, recipes.size()).toArray(), index.search(new String[]{""}));
+    }
+
+    @Test
+    void exactIngredientMatchesWithoutTheNameContainingIt() {
+        RecipeSearchIndex small = new RecipeSearchIndex(List.of(TestRecipes.recipe("Aglio e Olio", "Garlic, Olive Oil"),
+                TestRecipes.recipe("Garlic Bread", "Bread, Butter")));
+        assertArrayEquals(new int[]{0, 1}, small.search(new String[]{"garlic"}));
+        assertArrayEquals(new int[]{0}, small.search(new String[]{"olive oil"}));
+    }
+
+    // Letters, two-letter grams, pieces of real names, whole and partial ingredient names, or nothing at all
+    private String randomKeyword(SplittableRandom random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return String.valueOf(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            case 1:
+                return "" + LETTERS.charAt(random.nextInt(LETTERS.length())) + LETTERS.charAt(random.nextInt(LETTERS.length()));
+            case 2:
+                String name = recipes.get(random.nextInt(recipes.size())).getName().toLowerCase();
+                int start = random.nextInt(name.length() - 1);
+                return name.substring(start, Math.min(name.length(), start + 1 + random.nextInt(6)));
+            case 3:
+                return TestRecipes.INGREDIENTS[random.nextInt(TestRecipes.INGREDIENTS.length)].toLowerCase();
+            case 4:
+                String ingredient = TestRecipes.INGREDIENTS[random.nextInt(TestRecipes.INGREDIENTS.length)].toLowerCase();
+                return ingredient.substring(0, 1 + random.nextInt(ingredient.length()));
+            default:
+                return "";
+        }
+    }
+
+    // The keyword rule checked recipe by recipe, as the full scan did; ingredients match whole, ignoring case and
+    // surrounding whitespace like the ingredient dictionary
+    private int[] scan(String[] keywords) {
+        return IntStream.range(0, recipes.size()).filter(id -> {
+            Recipe recipe = recipes.get(id);
+            for (String keyword : keywords) {
+                boolean ingredient = false;
+                for (String name : recipe.getIngredientNames()) {
+                    ingredient |= name.equalsIgnoreCase(keyword.trim());
+                }
+                if (!recipe.getName().toLowerCase().contains(keyword) && !ingredient) {
+                    return false;
+                }
+            }
+            return true;
+        }).toArray();
+    }
+}
@@ -0,0 +1,151 @@
+package cookbook;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Status codes the HTTP API promises: 400 for bad input, 404 for unknown recipes and paths, 405 with an Allow
+// header for unsupported methods, 413 for oversized bodies and 201 for created recipes. Edits are only served by
+// a server created editable
+class RecipeSearchServerTest {
+    private static final String RECIPE = "{\"name\":\"Lemon Rice\",\"ingredients\":\"Rice, Lemon\","
+            + "\"instructions\":\"Cook.\",\"cookingTime\":\"20\",\"imagePath\":\"\",\"difficulty\":\"Easy\","
+            + "\"prepTime\":\"5\",\"cuisineType\":\"Indian\",\"dietaryPreferences\":\"Vegan\"}";
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private RecipeSearchServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = start(true);
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+        client.close();
+    }
+
+    private static RecipeSearchServer start(boolean editable) throws IOException {
+        RecipeCatalogue catalogue = new RecipeCatalogue(new ArrayList<>(List.of(
+                TestRecipes.recipe("Garlic Bread", "Bread, Garlic"), TestRecipes.recipe("Tomato Soup", "Tomato"))));
+        RecipeSearchServer started = new RecipeSearchServer(catalogue, new InetSocketAddress("localhost", 0), editable);
+        started.start();
+        return started;
+    }
+
+    @Test
+    void answersValidRequests() throws Exception {
+        HttpResponse<String> search = send("GET", "/search?q=garlic", null);
+        assertEquals(200, search.statusCode());
+        assertTrue(search.body().startsWith("{\"total\":1,"), search.body());
+
+        HttpResponse<String> created = send("POST", "/recipes", RECIPE);
+        assertEquals(201, created.statusCode());
+        assertEquals("{\"id\":2}", created.body());
+        assertEquals("Lemon Rice", nameOf(2));
+        assertEquals(200, send("DELETE", "/recipes/2", null).statusCode());
+    }
+
+    @Test
+    void rejectsBadInputWith400() throws Exception {
+        assertEquals(400, send("GET", "/search?limit=1000", null).statusCode());
+        assertEquals(400, send("GET", "/search?offset=x", null).statusCode());
+        assertEquals(400, send("GET", "/search?sort=Popularity", null).statusCode());
+        assertEquals(400, send("GET", "/shopping-list?ids=1,x", null).statusCode());
+        assertEquals(400, send("POST", "/recipes", "{\"name\":\"No Ingredients\"}").statusCode());
+        assertEquals(400, send("POST", "/recipes", "not json").statusCode());
+        assertEquals(400, send("PUT", "/recipes/0", RECIPE.replace("\"20\"", "\"soon\"")).statusCode());
+    }
+
+    @Test
+    void unknownRecipesAndPathsAre404() throws Exception {
+        assertEquals(404, send("GET", "/recipes/99", null).statusCode());
+        assertEquals(404, send("GET", "/recipes/garlic", null).statusCode());
+        assertEquals(404, send("DELETE", "/recipes/-1", null).statusCode());
+        assertEquals(404, send("GET", "/shopping-list?ids=0,99", null).statusCode());
+        assertEquals(404, send("GET", "/nowhere", null).statusCode());
+
+        assertEquals(200, send("DELETE", "/recipes/1", null).statusCode());
+        assertEquals(404, send("GET", "/recipes/1", null).statusCode()); // Deleted recipes are gone
+    }
+
+    @Test
+    void unsupportedMethodsAre405WithAllow() throws Exception {
+        HttpResponse<String> search = send("DELETE", "/search", null);
+        assertEquals(405, search.statusCode());
+        assertEquals("GET", search.headers().firstValue("Allow").orElse(null));
+
+        HttpResponse<String> collection = send("PUT", "/recipes", RECIPE);
+        assertEquals(405, collection.statusCode());
+        assertEquals("POST", collection.headers().firstValue("Allow").orElse(null));
+
+        HttpResponse<String> recipe = send("POST", "/recipes/0", RECIPE);
+        assertEquals(405, recipe.statusCode());
+        assertEquals("GET, PUT, DELETE", recipe.headers().firstValue("Allow").orElse(null));
+    }
+
+    @Test
+    void oversizedBodiesAre413() throws Exception {
+        String padded = RECIPE.replace("\"Cook.\"", "\"" + "Stir. ".repeat(12_000) + "\"");
+        assertEquals(413, send("POST", "/recipes", padded).statusCode());
+        assertEquals(413, send("PUT", "/recipes/0", padded).statusCode());
+        assertEquals("Garlic Bread", nameOf(0)); // The rejected PUT changed nothing
+    }
+
+    @Test
+    void readOnlyServerRefusesEdits() throws Exception {
+        server.stop();
+        server = start(false);
+        assertEquals(200, send("GET", "/recipes/0", null).statusCode());
+        for (String method : new String[]{"PUT", "DELETE", "POST"}) {
+            HttpResponse<String> edit = send(method, "/recipes/0", RECIPE);
+            assertEquals(405, edit.statusCode(), method);
+            assertEquals("GET", edit.headers().firstValue("Allow").orElse(null));
+        }
+        assertEquals(405, send("POST", "/recipes", RECIPE).statusCode());
+        assertEquals(404, send("GET", "/recipes", null).statusCode());
+        assertEquals("Garlic Bread", nameOf(0));
+    }
+
+    // Every name a request brings stays in the shared dictionaries, so only a few new ones are taken at a time
+    @Test
+    void limitsNewNamesPerRequest() throws Exception {
+        StringBuilder ingredients = new StringBuilder("Rice");
+        for (int i = 0; i < 11; i++) {
+            ingredients.append(", Server Test Spice ").append(i);
+        }
+        String tooMany = RECIPE.replace("Rice, Lemon", ingredients.toString());
+        assertEquals(400, send("POST", "/recipes", tooMany).statusCode());
+        assertEquals(-1, Recipe.INGREDIENTS.idOf("Server Test Spice 0")); // Rejected before anything was interned
+
+        String enough = RECIPE.replace("Rice, Lemon", ingredients.substring(0, ingredients.indexOf(", Server Test Spice 10")));
+        assertEquals(201, send("POST", "/recipes", enough).statusCode());
+        assertEquals(201, send("POST", "/recipes", tooMany).statusCode()); // Now only one of its names is new
+    }
+
+    private String nameOf(int id) throws Exception {
+        String body = send("GET", "/recipes/" + id, null).body();
+        int start = body.indexOf("\"name\":\"") + "\"name\":\"".length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+
+    private HttpResponse<String> send(String method, String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + path))
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
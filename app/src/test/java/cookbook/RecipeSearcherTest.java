@@ -0,0 +1,88 @@
+package cookbook;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Splitting the catalogue into segments searched in parallel must not change any answer: every query gives the
+// same ids in the same order with one search thread as with several, before and after edits
+class RecipeSearcherTest {
+    private static final int THREADS = 3;
+    private static final String[] KEYWORDS = {"garlic", "ch", "o", "spicy rice", "chicken, curry", "egg", "zz", ""};
+
+    private static RecipeSearcher sequential;
+    private static RecipeSearcher parallel;
+
+    // Enough recipes for one full segment per thread, so the parallel searcher really forks
+    @BeforeAll
+    static void build() {
+        List<Recipe> recipes = TestRecipes.generate(THREADS * RecipeSearcher.MIN_SHARD_SIZE, 17);
+        sequential = new RecipeSearcher(recipes, 1);
+        parallel = new RecipeSearcher(recipes, THREADS);
+    }
+
+    @AfterAll
+    static void shutdown() {
+        parallel.shutdown();
+    }
+
+    @Test
+    void sameAnswersWithOneThreadAndMany() {
+        assertSameAnswers(sequential, parallel);
+    }
+
+    @Test
+    void sameAnswersAfterEdits() {
+        List<Recipe> replacements = TestRecipes.generate(300, 18);
+        RecipeSearcher one = sequential;
+        RecipeSearcher many = parallel;
+        SplittableRandom random = new SplittableRandom(4);
+        for (Recipe recipe : replacements) {
+            int id = random.nextInt(one.nextId());
+            if (one.get(id) == null || random.nextInt(3) == 0) {
+                one = one.withAdded(recipe);
+                many = many.withAdded(recipe);
+            } else if (random.nextBoolean()) {
+                one = one.withUpdated(id, recipe);
+                many = many.withUpdated(id, recipe);
+            } else {
+                one = one.withDeleted(id);
+                many = many.withDeleted(id);
+            }
+        }
+        assertSameAnswers(one, many);
+    }
+
+    private static void assertSameAnswers(RecipeSearcher one, RecipeSearcher many) {
+        assertEquals(one.size(), many.size());
+        for (String keywords : KEYWORDS) {
+            for (SortOrder order : SortOrder.values()) {
+                SearchQuery query = new SearchQuery(SearchQuery.keywordsOf(keywords), "All", "All", "All", order);
+                int[] matches = one.search(query);
+                assertArrayEquals(matches, many.search(query), keywords);
+                assertArrayEquals(one.rank(query, matches, 100), many.rank(query, matches, 100), keywords + " " + order);
+            }
+            SearchQuery filtered = new SearchQuery(SearchQuery.keywordsOf(keywords), "Easy", "Indian", "Vegan");
+            assertArrayEquals(one.search(filtered), many.search(filtered), keywords + " filtered");
+        }
+        Pantry pantry = Pantry.parse("Garlic, Onion, Rice, Egg");
+        for (SortOrder order : SortOrder.values()) {
+            int[][] expected = one.pantry(pantry, 2, order);
+            int[][] actual = many.pantry(pantry, 2, order);
+            for (int m = 0; m < expected.length; m++) {
+                assertArrayEquals(expected[m], actual[m], "pantry missing " + m + " " + order);
+            }
+        }
+        for (String cuisine : TestRecipes.CUISINES) {
+            assertEquals(one.cuisineCount(cuisine), many.cuisineCount(cuisine), cuisine);
+        }
+        assertEquals(one.difficultyCount("Hard"), many.difficultyCount("Hard"));
+        assertEquals(one.dietaryCount("Vegan"), many.dietaryCount("Vegan"));
+    }
+}
@@ -0,0 +1,70 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// Recipes store their ingredients, cuisine and dietary tags as dictionary ids and the difficulty as an enum, yet
+// give back the text exactly as it was written
+class RecipeTest {
+    @Test
+    void textRoundTripsThroughTheDictionaries() {
+        Recipe recipe = new Recipe("Dal Tadka", "Lentils, Ghee,  Cumin ,", "Simmer.", 30, "dal.jpg", "Medium", 10,
+                "Indian", "Vegetarian, Gluten-Free");
+        assertEquals("Lentils, Ghee, Cumin", recipe.getIngredients()); // Spacing and empty entries are normalized
+        assertArrayEquals(new String[]{"Lentils", "Ghee", "Cumin"}, recipe.getIngredientNames());
+        assertEquals(Recipe.INGREDIENTS.idOf("ghee"), recipe.getIngredientIds()[1]);
+        assertEquals("Indian", recipe.getCuisineType());
+        assertEquals(Recipe.CUISINES.idOf("Indian"), recipe.getCuisineId());
+        assertEquals("Vegetarian, Gluten-Free", recipe.getDietaryPreferences());
+        assertArrayEquals(new String[]{"Vegetarian", "Gluten-Free"}, recipe.getDietaryNames());
+        assertSame(Difficulty.MEDIUM, recipe.getDifficultyLevel());
+        assertEquals("Medium", recipe.getDifficulty());
+        assertEquals("Simmer.", recipe.getInstructions());
+        assertEquals(40, recipe.getCookingTime() + recipe.getPrepTime());
+    }
+
+    // Two recipes spelling a name differently share its id, and each shows its own spelling
+    @Test
+    void respelledNamesKeepTheirText() {
+        Recipe first = new Recipe("Pesto", "Basil, Pine Nuts, Parmesan", "Blend.", 0, "", "Easy", 10, "Italian", "Vegetarian");
+        Recipe second = new Recipe("Pesto Pasta", "basil, PINE NUTS, Pasta", "Toss.", 10, "", "easy", 5, "italian", "vegetarian");
+        assertArrayEquals(new int[]{first.getIngredientIds()[0], first.getIngredientIds()[1]},
+                new int[]{second.getIngredientIds()[0], second.getIngredientIds()[1]});
+        assertEquals(first.getCuisineId(), second.getCuisineId());
+        assertArrayEquals(first.getDietaryIds(), second.getDietaryIds());
+        assertEquals("basil, PINE NUTS, Pasta", second.getIngredients());
+        assertArrayEquals(new String[]{"basil", "PINE NUTS", "Pasta"}, second.getIngredientNames());
+        assertEquals("italian", second.getCuisineType());
+        assertEquals("vegetarian", second.getDietaryPreferences());
+        assertEquals("Basil, Pine Nuts, Parmesan", first.getIngredients()); // The first spelling is unaffected
+        assertEquals("Easy", second.getDifficulty()); // Labels are canonical, not as written
+    }
+
+    @Test
+    void difficultyLabelsRoundTrip() {
+        for (Difficulty difficulty : Difficulty.values()) {
+            assertSame(difficulty, Difficulty.fromLabel(difficulty.getLabel()));
+            assertSame(difficulty, Difficulty.fromLabel(" " + difficulty.getLabel().toUpperCase() + " "));
+        }
+    }
+
+    @Test
+    void unknownDifficultyIsRejected() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new Recipe("Soufflé", "Egg", "Fold.", 30, "", "Expert", 20, "French", ""));
+        assertEquals("Unknown difficulty: Expert", error.getMessage());
+    }
+
+    @Test
+    void instructionsAreLoadedOnDemand() {
+        int[] loads = {0};
+        Recipe recipe = new Recipe("Toast", "Bread", () -> "Toast #" + ++loads[0] + ".", 3, "", "Easy", 1, "French", "");
+        assertEquals(0, loads[0]);
+        assertEquals("Toast #1.", recipe.getInstructions());
+        assertEquals(1, loads[0]);
+    }
+}
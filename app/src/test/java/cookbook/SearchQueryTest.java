@@ -0,0 +1,64 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// LiveSearch narrows the previous results when a query refines the last one, so that shortcut must always give
+// the same recipes as searching the whole catalogue again
+class SearchQueryTest {
+    private static final String[] DIFFICULTIES = {"All", "Easy", "Medium", "Hard"};
+
+    private final RecipeSearcher searcher = new RecipeSearcher(TestRecipes.generate(3000, 23), 1);
+
+    // Keeps typing an ingredient, sometimes adding a filter or another keyword
+    @Test
+    void refinedSearchMatchesAFreshSearch() {
+        SplittableRandom random = new SplittableRandom(9);
+        for (int q = 0; q < 1000; q++) {
+            String ingredient = TestRecipes.INGREDIENTS[random.nextInt(TestRecipes.INGREDIENTS.length)].toLowerCase();
+            int typed = 1 + random.nextInt(ingredient.length());
+            SearchQuery previous = query(ingredient.substring(0, typed), "All", "All");
+            SearchQuery next = query(ingredient.substring(0, Math.min(ingredient.length(), typed + random.nextInt(4))),
+                    DIFFICULTIES[random.nextInt(DIFFICULTIES.length)],
+                    random.nextBoolean() ? "All" : TestRecipes.CUISINES[random.nextInt(TestRecipes.CUISINES.length)]);
+            if (random.nextInt(4) == 0) {
+                next = new SearchQuery(SearchQuery.keywordsOf(String.join(",", next.getKeywords()) + ", s"),
+                        next.getDifficulty(), next.getCuisine(), "All");
+            }
+            assertTrue(next.refines(previous), String.join(",", next.getKeywords()));
+            assertArrayEquals(searcher.search(next), searcher.search(next, searcher.search(previous)),
+                    String.join(",", previous.getKeywords()) + " -> " + String.join(",", next.getKeywords()));
+        }
+    }
+
+    @Test
+    void longerKeywordAddsRecipesMatchedByExactIngredient() {
+        RecipeSearcher small = new RecipeSearcher(List.of(TestRecipes.recipe("Pancakes", "Egg, Flour, Milk"),
+                TestRecipes.recipe("Vegetable Soup", "Carrot, Onion")), 1);
+        SearchQuery previous = query("eg", "All", "All");
+        SearchQuery next = query("egg", "All", "All");
+        assertTrue(next.refines(previous));
+        assertArrayEquals(new int[]{1}, small.search(previous));
+        assertArrayEquals(new int[]{0}, small.search(next, small.search(previous)));
+    }
+
+    @Test
+    void relaxedQueriesDoNotRefine() {
+        SearchQuery chicken = query("chicken", "Easy", "All");
+        assertFalse(query("chick", "Easy", "All").refines(chicken)); // Shorter keyword
+        assertFalse(query("chicken", "All", "All").refines(chicken)); // Filter cleared
+        assertFalse(query("chicken", "Hard", "All").refines(chicken)); // Filter changed
+        assertFalse(query("rice", "Easy", "All").refines(chicken)); // Different keyword
+        assertTrue(query("chicken, rice", "Easy", "Indian").refines(chicken));
+    }
+
+    private static SearchQuery query(String input, String difficulty, String cuisine) {
+        return new SearchQuery(SearchQuery.keywordsOf(input), difficulty, cuisine, "All");
+    }
+}
@@ -0,0 +1,75 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// A shopping list names each ingredient once, in the order first needed, with how many recipes need it
+class ShoppingListTest {
+    @Test
+    void mergesIngredientsAcrossRecipes() {
+        ShoppingList list = ShoppingList.of(List.of(TestRecipes.recipe("Fried Rice", "Rice, Egg, Onion"),
+                TestRecipes.recipe("Omelette", "Egg, Milk"), TestRecipes.recipe("Onion Soup", "Onion, Butter")),
+                Pantry.EMPTY);
+        assertEquals(Map.of("Rice", 1, "Egg", 2, "Onion", 2, "Milk", 1, "Butter", 1), counts(list));
+        assertEquals(List.of("Rice", "Egg", "Onion", "Milk", "Butter"), List.copyOf(counts(list).keySet()));
+        assertEquals(3, list.getRecipes());
+        assertEquals("Rice\nEgg (2 recipes)\nOnion (2 recipes)\nMilk\nButter\n", list.toString());
+    }
+
+    @Test
+    void leavesOutPantryIngredients() {
+        List<Recipe> recipes = List.of(TestRecipes.recipe("Fried Rice", "Rice, Egg, Onion"),
+                TestRecipes.recipe("Omelette", "Egg, Milk"));
+        assertEquals(Map.of("Rice", 1, "Onion", 1), counts(ShoppingList.of(recipes, Pantry.parse("egg, MILK"))));
+    }
+
+    // A recipe listing an ingredient twice, or spelled differently from another recipe, still counts once each
+    @Test
+    void countsEachRecipeOncePerIngredientIgnoringCase() {
+        ShoppingList list = ShoppingList.of(List.of(TestRecipes.recipe("Garlic Bread", "Garlic, Bread, garlic"),
+                TestRecipes.recipe("Aglio e Olio", "GARLIC, Olive Oil")), Pantry.EMPTY);
+        assertEquals(Map.of("Garlic", 2, "Bread", 1, "Olive Oil", 1), counts(list));
+    }
+
+    // Large selections fill the counting table; it must agree with counting by name
+    @Test
+    void matchesCountingByName() {
+        List<Recipe> recipes = TestRecipes.generate(3000, 13);
+        Pantry pantry = Pantry.parse("Salt, Butter");
+        for (int count : new int[]{1, 2, 7, 100, 3000}) {
+            Map<String, Integer> expected = new LinkedHashMap<>();
+            for (Recipe recipe : recipes.subList(0, count)) {
+                for (String name : new LinkedHashSet<>(Arrays.asList(recipe.getIngredientNames()))) {
+                    if (!pantry.contains(Recipe.INGREDIENTS.idOf(name))) {
+                        expected.merge(Recipe.INGREDIENTS.valueOf(Recipe.INGREDIENTS.idOf(name)), 1, Integer::sum);
+                    }
+                }
+            }
+            ShoppingList list = ShoppingList.of(recipes.subList(0, count), pantry);
+            assertEquals(expected, counts(list));
+            assertEquals(List.copyOf(expected.keySet()), List.copyOf(counts(list).keySet()));
+        }
+    }
+
+    @Test
+    void emptyForNoRecipes() {
+        ShoppingList list = ShoppingList.of(List.of(), Pantry.EMPTY);
+        assertEquals(0, list.size());
+        assertEquals("", list.toString());
+    }
+
+    private static Map<String, Integer> counts(ShoppingList list) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (int i = 0; i < list.size(); i++) {
+            counts.put(list.getName(i), list.getRecipeCount(i));
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,78 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+// Misspelled keywords are corrected to the closest name word or ingredient, allowing more edits for longer
+// keywords; keywords that already match something as typed, whole or as part of a word, are left alone
+class SpellingIndexTest {
+    private final SpellingIndex index = new SpellingIndex(List.of(
+            TestRecipes.recipe("Spaghetti Carbonara", "Spaghetti, Egg, Pecorino"),
+            TestRecipes.recipe("Golden Turmeric Rice", "Rice, Turmeric, Basil"),
+            TestRecipes.recipe("Chicken Curry", "Chicken, Turmeric, Ginger"),
+            TestRecipes.recipe("Hen Pie", "Chicken, Flour"),
+            TestRecipes.recipe("Ride Bowl", "Rice")));
+
+    @Test
+    void correctsCommonMisspellings() {
+        assertEquals("turmeric", suggest("tumeric"));
+        assertEquals("spaghetti", suggest("spagetti"));
+        assertEquals("carbonara", suggest("carbonarra"));
+        assertEquals("basil", suggest("bsail")); // Adjacent swap is one edit
+        assertEquals("chicken", suggest("chikcen"));
+    }
+
+    @Test
+    void allowedEditsGrowWithLength() {
+        assertEquals(0, SpellingIndex.maxDistance(2));
+        assertEquals(1, SpellingIndex.maxDistance(3));
+        assertEquals(1, SpellingIndex.maxDistance(5));
+        assertEquals(2, SpellingIndex.maxDistance(6));
+
+        assertNull(suggest("ri")); // Too short to correct at all
+        assertEquals("egg", suggest("eeg"));
+        assertNull(suggest("ehh")); // Two edits from "egg" but only three chars
+        assertNull(suggest("bxsix")); // Two edits from "basil" but only five chars
+        assertEquals("turmeric", suggest("tumerik")); // Two edits in seven chars
+        assertNull(suggest("tumurik")); // Three
+    }
+
+    // "ken" is one edit from "hen", but it is also part of "chicken", which keywords match as typed
+    @Test
+    void leavesKnownWordsPrefixesAndInfixesAlone() {
+        assertNull(suggest("spaghetti"));
+        assertNull(suggest("spag"));
+        assertNull(suggest("ken"));
+        assertNull(suggest("ghetti"));
+        assertNull(suggest("urmer"));
+        assertEquals("hen", suggest("hwn"));
+    }
+
+    // Among equally close words the one more recipes contain wins, counting recipes over every index
+    @Test
+    void prefersTheMoreCommonWord() {
+        assertEquals("rice", suggest("rize"));
+        SpellingIndex rides = new SpellingIndex(List.of(TestRecipes.recipe("Ride Soup", "Tomato"),
+                TestRecipes.recipe("Ride Stew", "Tomato")));
+        assertEquals("ride", SpellingIndex.suggest(List.of(rides), "rize"));
+        assertEquals("ride", SpellingIndex.suggest(List.of(index, rides), "rize")); // Three recipes against two
+    }
+
+    @Test
+    void distanceCountsEditsUpToTheLimit() {
+        assertEquals(0, SpellingIndex.distance("rice", "rice", 2));
+        assertEquals(1, SpellingIndex.distance("rcie", "rice", 2));
+        assertEquals(1, SpellingIndex.distance("rce", "rice", 2));
+        assertEquals(2, SpellingIndex.distance("tumerik", "turmeric", 2));
+        assertEquals(3, SpellingIndex.distance("tumurik", "turmeric", 2)); // Reported as limit + 1
+        assertEquals(3, SpellingIndex.distance("a", "basil", 2));
+    }
+
+    private String suggest(String keyword) {
+        return SpellingIndex.suggest(List.of(index), keyword);
+    }
+}
@@ -0,0 +1,73 @@
+package cookbook;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+// A dictionary hands out one dense id per term ignoring case and surrounding whitespace, shows the term as first
+// seen, and refuses new terms once full
+class TermDictionaryTest {
+    @Test
+    void internsIgnoringCaseAndWhitespace() {
+        TermDictionary dictionary = new TermDictionary(100);
+        assertEquals(0, dictionary.intern("Olive Oil"));
+        assertEquals(1, dictionary.intern(" Garlic "));
+        assertEquals(0, dictionary.intern("olive oil"));
+        assertEquals(0, dictionary.idOf("  OLIVE OIL"));
+        assertEquals(-1, dictionary.idOf("Butter"));
+        assertEquals("Olive Oil", dictionary.valueOf(0)); // As first seen
+        assertEquals("Garlic", dictionary.valueOf(1));
+        assertEquals(2, dictionary.size());
+    }
+
+    @Test
+    void refusesNewTermsPastTheLimit() {
+        TermDictionary dictionary = new TermDictionary(2);
+        dictionary.intern("Rice");
+        dictionary.intern("Egg");
+        assertEquals(1, dictionary.intern("EGG")); // Known terms are still found
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> dictionary.intern("Milk"));
+        assertEquals("Too many distinct terms (limit 2): Milk", error.getMessage());
+        assertEquals(2, dictionary.size());
+    }
+
+    // Threads interning the same terms in different orders and cases all get the same ids, with no gaps
+    @Test
+    void concurrentInternsAgree() throws Exception {
+        TermDictionary dictionary = new TermDictionary(1000);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<int[]>> results = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                boolean upper = thread % 2 == 0;
+                int offset = thread * 97;
+                results.add(pool.submit(() -> {
+                    int[] ids = new int[500];
+                    for (int i = 0; i < ids.length; i++) {
+                        int term = (i + offset) % ids.length;
+                        ids[term] = dictionary.intern(upper ? "TERM " + term : "term " + term);
+                    }
+                    return ids;
+                }));
+            }
+            int[] first = results.get(0).get();
+            for (Future<int[]> result : results) {
+                int[] ids = result.get();
+                for (int term = 0; term < ids.length; term++) {
+                    assertEquals(first[term], ids[term]);
+                    assertEquals("term " + term, dictionary.valueOf(ids[term]).toLowerCase());
+                }
+            }
+            assertEquals(500, dictionary.size());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package cookbook;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Small deterministic catalogues for the tests, drawn from a vocabulary small enough that keywords, ingredients
+// and facet values overlap between recipes
+final class TestRecipes {
+    static final String[] INGREDIENTS = {"Garlic", "Onion", "Olive Oil", "Butter", "Rice", "Chicken", "Chickpeas",
+            "Tomato", "Basil", "Egg", "Salt", "Flour", "Milk", "Ginger", "Lemon", "Chili"};
+    static final String[] CUISINES = {"Italian", "Indian", "French", "Mexican", "Japanese"};
+    static final String[] DIETARY = {"Vegan", "Vegetarian", "Gluten-Free", "Dairy-Free"};
+    private static final String[] ADJECTIVES = {"Smoky", "Quick", "Creamy", "Spicy", "Easy", "Baked"};
+    private static final String[] DISHES = {"Soup", "Curry", "Stew", "Pie", "Salad", "Bowl", "Tacos"};
+    private static final String[] DIFFICULTIES = {"Easy", "Medium", "Hard"};
+
+    private TestRecipes() {
+    }
+
+    // count recipes named like "Smoky Chicken Curry", each with two to five ingredients and up to two dietary tags
+    static List<Recipe> generate(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<Recipe> recipes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String main = pick(random, INGREDIENTS);
+            String name = pick(random, ADJECTIVES) + " " + main + " " + pick(random, DISHES);
+            StringBuilder ingredients = new StringBuilder(main);
+            for (int n = 1 + random.nextInt(4); n > 0; n--) {
+                ingredients.append(", ").append(pick(random, INGREDIENTS));
+            }
+            StringBuilder dietary = new StringBuilder();
+            for (int n = random.nextInt(3); n > 0; n--) {
+                dietary.append(dietary.length() > 0 ? ", " : "").append(pick(random, DIETARY));
+            }
+            recipes.add(new Recipe(name, ingredients.toString(), "Cook the " + main.toLowerCase() + ".",
+                    5 + random.nextInt(60), "", pick(random, DIFFICULTIES), random.nextInt(30),
+                    pick(random, CUISINES), dietary.toString()));
+        }
+        return recipes;
+    }
+
+    // One Easy, Italian recipe with the given name and comma-separated ingredients
+    static Recipe recipe(String name, String ingredients) {
+        return new Recipe(name, ingredients, "Mix.", 10, "", "Easy", 5, "Italian", "");
+    }
+
+    private static String pick(SplittableRandom random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
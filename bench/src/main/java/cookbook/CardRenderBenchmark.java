@@ -0,0 +1,76 @@
+package cookbook;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+// Headless painting of one screen of recipe cards, as the recipe list does on every scroll or result swap
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CardRenderBenchmark {
+    private static final int VISIBLE_ROWS = 6; // Cards on a maximized 1080p window
+    private static final int WIDTH = 1200;
+
+    private ThumbnailService thumbnails;
+    private RecipeCardRenderer renderer;
+    private JList<Recipe> list;
+    private List<Recipe> catalogue;
+    private final CellRendererPane rendererPane = new CellRendererPane(); // Paints cells the way BasicListUI does
+    private final BufferedImage canvas = new BufferedImage(WIDTH, RecipeCardRenderer.CARD_HEIGHT, BufferedImage.TYPE_INT_RGB);
+    private int firstRow; // Advances every invocation, like a scrolling viewport
+
+    @Setup(Level.Trial)
+    public void setUp() throws InterruptedException {
+        catalogue = SyntheticRecipes.generate(10_000, 42);
+        thumbnails = new ThumbnailService(2, 64L * 1024 * 1024, null);
+        // Warm the thumbnail cache so the benchmark measures painting rather than decoding
+        CountDownLatch loaded = new CountDownLatch(catalogue.size());
+        for (Recipe recipe : catalogue) {
+            thumbnails.request(recipe.getImagePath(), RecipeCardRenderer.IMAGE_SIZE, RecipeCardRenderer.IMAGE_SIZE, image -> loaded.countDown());
+        }
+        loaded.await(1, TimeUnit.MINUTES);
+        renderer = new RecipeCardRenderer(thumbnails);
+        list = new JList<>(catalogue.toArray(new Recipe[0]));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        thumbnails.shutdown();
+    }
+
+    @Benchmark
+    public BufferedImage paintVisibleCards() {
+        Graphics2D g = canvas.createGraphics();
+        try {
+            for (int row = 0; row < VISIBLE_ROWS; row++) {
+                int index = (firstRow + row) % catalogue.size();
+                Component card = renderer.getListCellRendererComponent(list, catalogue.get(index), index, false, false);
+                rendererPane.paintComponent(g, card, list, 0, 0, WIDTH, RecipeCardRenderer.CARD_HEIGHT, true);
+            }
+        } finally {
+            g.dispose();
+        }
+        firstRow++;
+        return canvas;
+    }
+}
@@ -0,0 +1,50 @@
+package cookbook;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+// Facet bitmap filtering and counting behind the difficulty, cuisine and dietary dropdowns
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class FacetBenchmark {
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int recipes;
+
+    private RecipeFacets facets;
+
+    @Setup
+    public void setUp() {
+        facets = new RecipeFacets(SyntheticRecipes.generate(recipes, 42));
+    }
+
+    @Benchmark
+    public BitSet singleFacet() {
+        return facets.filter("All", "Italian", "All");
+    }
+
+    @Benchmark
+    public BitSet allThreeFacets() {
+        return facets.filter("Easy", "Italian", "Vegan");
+    }
+
+    @Benchmark
+    public int dropdownCounts() {
+        return facets.cuisineCount("Italian") + facets.difficultyCount("Easy") + facets.dietaryCount("Vegan");
+    }
+}
@@ -0,0 +1,48 @@
+package cookbook;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Decoding and scaling the bundled recipe images; run from the repository root so j/images resolves
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ImageLoadBenchmark {
+    @Param({"j/images/pad-thai.jpg", "j/images/chicken-tikka-masala.jpg", "j/images/falafal.jpg"})
+    public String image;
+
+    @Param({"150", "400"})
+    public int size;
+
+    // What ThumbnailService does on a cache miss: subsampled decode, then stepwise smooth scaling
+    @Benchmark
+    public BufferedImage thumbnailPipeline() throws IOException {
+        return ThumbnailService.scale(ThumbnailService.decode(new File(image), size, size), size, size);
+    }
+
+    // What loadImage() did before the thumbnail service, on the EDT for every card of every search
+    @Benchmark
+    public Icon legacyImageIcon() {
+        ImageIcon icon = new ImageIcon(image);
+        Image scaledImage = icon.getImage().getScaledInstance(size, size, Image.SCALE_SMOOTH);
+        return new ImageIcon(scaledImage); // Waits for the scaled pixels, like the label did before painting
+    }
+}
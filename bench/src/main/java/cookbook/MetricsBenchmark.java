@@ -0,0 +1,50 @@
+package cookbook;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of the instrumentation on the hot paths: it should stay in the tens of nanoseconds and allocate nothing
+// (check gc.alloc.rate.norm with -prof gc), including the JFR event when no recording is running
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Djava.awt.headless=true"})
+public class MetricsBenchmark {
+    private final LatencyHistogram histogram = new LatencyHistogram("benchmark", "ns");
+    private long value = 1;
+
+    // One recording of a varying latency, as every timed path does
+    @Benchmark
+    public void histogramRecord() {
+        value = value * 6364136223846793005L + 1442695040888963407L; // Cheap pseudo-random spread of values
+        histogram.record((value >>> 24) & 0xFFFFFFFL);
+    }
+
+    // The same from four threads at once, as the search service and thumbnail decoders record
+    @Benchmark
+    @Threads(4)
+    public void histogramRecordContended() {
+        histogram.recordSince(System.nanoTime() - 1000);
+    }
+
+    // Creating, timing and dropping an EDT stall event when JFR is not recording
+    @Benchmark
+    public boolean disabledJfrEvent() {
+        Metrics.EdtStallEvent event = new Metrics.EdtStallEvent();
+        event.begin();
+        event.end();
+        return event.shouldCommit();
+    }
+}
@@ -0,0 +1,92 @@
+package cookbook;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Pantry queries over the ingredient posting lists and merged shopping lists, against checking each recipe's
+// ingredient list against the pantry as a baseline
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class PantryBenchmark {
+    private static final int PANTRY_SIZE = 40; // A well-stocked kitchen: the most popular ingredients
+
+    @Param({"10000", "100000", "1000000"})
+    public int recipes;
+
+    private List<Recipe> catalogue;
+    private RecipeSearcher searcher;
+    private Pantry pantry;
+    private List<Recipe> weekOfMeals; // Seven recipes, as a meal plan
+    private List<Recipe> thousandRecipes; // A large selection, e.g. a caterer's
+
+    @Setup
+    public void setUp() {
+        catalogue = SyntheticRecipes.generate(recipes, 42);
+        searcher = new RecipeSearcher(catalogue);
+        String[] vocabulary = SyntheticRecipes.ingredientVocabulary();
+        pantry = Pantry.parse(String.join(", ", Arrays.copyOf(vocabulary, PANTRY_SIZE)));
+        weekOfMeals = catalogue.subList(0, 7);
+        thousandRecipes = catalogue.subList(0, 1000);
+    }
+
+    @Benchmark
+    public int[][] fullyCovered() {
+        return searcher.pantry(pantry, 0, SortOrder.RELEVANCE);
+    }
+
+    @Benchmark
+    public int[][] missingAtMostTwo() {
+        return searcher.pantry(pantry, 2, SortOrder.RELEVANCE);
+    }
+
+    // Adds the k-way merge of the precomputed total-time orders per bucket
+    @Benchmark
+    public int[][] missingAtMostTwoByTime() {
+        return searcher.pantry(pantry, 2, SortOrder.TOTAL_TIME);
+    }
+
+    // Baseline: counts each recipe's ingredients missing from the pantry by looking every one of them up
+    @Benchmark
+    public int missingAtMostTwoScan() {
+        int found = 0;
+        for (Recipe recipe : catalogue) {
+            int missing = 0;
+            for (int id : recipe.getIngredientIds()) {
+                if (!pantry.contains(id) && ++missing > 2) {
+                    break;
+                }
+            }
+            if (missing <= 2) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public ShoppingList weekShoppingList() {
+        return ShoppingList.of(weekOfMeals, pantry);
+    }
+
+    @Benchmark
+    public ShoppingList thousandRecipeShoppingList() {
+        return ShoppingList.of(thousandRecipes, pantry);
+    }
+}
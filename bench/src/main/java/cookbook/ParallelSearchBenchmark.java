@@ -0,0 +1,65 @@
+package cookbook;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Sharded search as the thread count grows; compare each score with threads=1 for the speedup
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx6g", "-Djava.awt.headless=true"})
+public class ParallelSearchBenchmark {
+    @Param({"100000", "1000000"})
+    public int recipes;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private RecipeSearcher searcher;
+    private SearchQuery shortKeyword; // Answered from the bigram postings
+    private SearchQuery popularIngredient; // Mostly posting list merges
+    private int[] popularMatches; // Unranked matches of popularIngredient, the input to ranking
+
+    @Setup
+    public void setUp() {
+        searcher = new RecipeSearcher(SyntheticRecipes.generate(recipes, 42), threads);
+        shortKeyword = new SearchQuery(SearchQuery.keywordsOf("ch"), "All", "All", "All");
+        popularIngredient = new SearchQuery(SearchQuery.keywordsOf("garlic"), "All", "All", "All");
+        popularMatches = searcher.search(popularIngredient);
+    }
+
+    @TearDown
+    public void tearDown() {
+        searcher.shutdown();
+    }
+
+    @Benchmark
+    public int[] shortKeyword() {
+        return searcher.search(shortKeyword);
+    }
+
+    @Benchmark
+    public int[] popularIngredient() {
+        return searcher.search(popularIngredient);
+    }
+
+    // Each shard keeps its best 1000 by relevance, then the shards' rankings are merged
+    @Benchmark
+    public int[] relevanceTopK() {
+        return searcher.rank(popularIngredient, popularMatches, 1000);
+    }
+}
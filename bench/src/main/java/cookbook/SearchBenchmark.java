@@ -0,0 +1,117 @@
+package cookbook;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Keyword search as run by RecipeGUI.searchRecipes(), against the original linear scan as a baseline
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx4g", "-Djava.awt.headless=true"})
+public class SearchBenchmark {
+    private static final String[] MISSPELLED = {"tumeric"}; // One edit away from "turmeric"
+
+    @Param({"1000", "10000", "100000", "1000000"})
+    public int recipes;
+
+    private List<Recipe> catalogue;
+    private RecipeSearcher searcher;
+    private SearchQuery popularIngredient; // Exact ingredient listed by many recipes
+    private SearchQuery nameFragment; // Substring of recipe names
+    private SearchQuery twoKeywords; // Comma-separated AND query
+    private SearchQuery shortKeyword; // Too short for the trigram index
+    private SearchQuery filtered; // Keyword plus all three facet filters
+    private int[] popularMatches; // Unranked matches of popularIngredient, the input to ranking
+
+    @Setup
+    public void setUp() {
+        catalogue = SyntheticRecipes.generate(recipes, 42);
+        searcher = new RecipeSearcher(catalogue);
+        popularIngredient = query("garlic", "All", "All", "All");
+        nameFragment = query("curr", "All", "All", "All");
+        twoKeywords = query("garlic, onion", "All", "All", "All");
+        shortKeyword = query("ch", "All", "All", "All");
+        filtered = query("garlic", "Easy", "Italian", "Vegan");
+        popularMatches = searcher.search(popularIngredient);
+    }
+
+    @Benchmark
+    public int[] popularIngredient() {
+        return searcher.search(popularIngredient);
+    }
+
+    @Benchmark
+    public int[] nameFragment() {
+        return searcher.search(nameFragment);
+    }
+
+    @Benchmark
+    public int[] twoKeywords() {
+        return searcher.search(twoKeywords);
+    }
+
+    @Benchmark
+    public int[] shortKeyword() {
+        return searcher.search(shortKeyword);
+    }
+
+    @Benchmark
+    public int[] keywordAndFacets() {
+        return searcher.search(filtered);
+    }
+
+    // BM25F scoring of every match with a bounded heap keeping the best 1000, as the GUI lists them
+    @Benchmark
+    public int[] relevanceTopK() {
+        return searcher.rank(popularIngredient, popularMatches, 1000);
+    }
+
+    // Every match in total time order, picked from the precomputed order rather than sorted per query
+    @Benchmark
+    public int[] totalTimeOrder() {
+        SearchQuery byTime = new SearchQuery(popularIngredient.getKeywords(), "All", "All", "All", SortOrder.TOTAL_TIME);
+        return searcher.rank(byTime, popularMatches, 1000);
+    }
+
+    // Did-you-mean for a misspelled ingredient through the deletion index; should not grow with the catalogue
+    @Benchmark
+    public String[] spellingCorrection() {
+        return searcher.corrections(MISSPELLED);
+    }
+
+    // The stream filter searchRecipes() used before the index, kept to show what the index saves
+    @Benchmark
+    public List<Recipe> linearScanBaseline() {
+        String[] keywords = twoKeywords.getKeywords();
+        return catalogue.stream()
+                .filter(recipe -> {
+                    for (String keyword : keywords) {
+                        if (!(recipe.getName().toLowerCase().contains(keyword)
+                                || recipe.getIngredients().toLowerCase().contains(keyword))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static SearchQuery query(String text, String difficulty, String cuisine, String dietary) {
+        return new SearchQuery(SearchQuery.keywordsOf(text), difficulty, cuisine, dietary);
+    }
+}
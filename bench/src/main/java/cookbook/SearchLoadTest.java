@@ -0,0 +1,126 @@
+package cookbook;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Closed-loop load driver for RecipeSearchServer: each client sends a search, waits for the answer and sends the next.
+//   java -cp bench/target/benchmarks.jar cookbook.SearchLoadTest [clients] [seconds] [url]
+// Without a url it serves a synthetic 100,000-recipe catalogue in this JVM on a free port.
+public class SearchLoadTest {
+    private static final String[] FACETS = {"", "&cuisine=Italian", "&difficulty=Easy", "&dietary=Vegan&cuisine=Indian"};
+    private static final String[] SORTS = {"", "", "&sort=total_time", "&sort=name"};
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        RecipeSearchServer localServer = null;
+        String url;
+        if (args.length > 2) {
+            url = args[2];
+        } else {
+            RecipeSearchServer.useNoDelay();
+            localServer = new RecipeSearchServer(new RecipeCatalogue(SyntheticRecipes.generate(100_000, 42)), new InetSocketAddress("localhost", 0));
+            localServer.start();
+            url = "http://localhost:" + localServer.getPort();
+        }
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        String[] vocabulary = SyntheticRecipes.ingredientVocabulary();
+        System.out.printf("Warming up %s for 5 s...%n", url);
+        run(client, url, vocabulary, clients, 5_000_000_000L);
+        System.out.printf("Measuring %d clients for %d s...%n", clients, seconds);
+        long start = System.nanoTime();
+        List<long[]> latencies = run(client, url, vocabulary, clients, seconds * 1_000_000_000L);
+        double elapsed = (System.nanoTime() - start) / 1e9;
+
+        int requests = 0;
+        int errors = 0;
+        for (long[] worker : latencies) {
+            requests += (int) worker[0];
+            errors += (int) worker[1];
+        }
+        long[] all = new long[requests];
+        int count = 0;
+        for (long[] worker : latencies) {
+            System.arraycopy(worker, 2, all, count, (int) worker[0]);
+            count += (int) worker[0];
+        }
+        Arrays.sort(all);
+        System.out.printf("%,d requests in %.1f s: %,.0f queries/s, %d errors%n", requests, elapsed, requests / elapsed, errors);
+        System.out.printf("latency ms  p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), percentile(all, 0.999), percentile(all, 1.0));
+        if (localServer != null) {
+            localServer.stop();
+        }
+    }
+
+    // Runs the clients for the given time; each returns {requests, errors, latency nanos...}
+    private static List<long[]> run(HttpClient client, String url, String[] vocabulary, int clients, long nanos) throws Exception {
+        long deadline = System.nanoTime() + nanos;
+        List<Future<long[]>> workers = new ArrayList<>();
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                long seed = c;
+                workers.add(threads.submit(() -> {
+                    SplittableRandom random = new SplittableRandom(seed);
+                    long[] result = new long[2 + 1024];
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = HttpRequest.newBuilder(URI.create(url + randomSearch(random, vocabulary))).build();
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                            if (response.statusCode() != 200) {
+                                result[1]++;
+                            }
+                        } catch (IOException e) {
+                            result[1]++;
+                        }
+                        int n = (int) result[0]++;
+                        if (2 + n == result.length) {
+                            result = Arrays.copyOf(result, result.length * 2);
+                        }
+                        result[2 + n] = System.nanoTime() - sent;
+                    }
+                    return result;
+                }));
+            }
+        }
+        List<long[]> results = new ArrayList<>();
+        for (Future<long[]> worker : workers) {
+            results.add(worker.get());
+        }
+        return results;
+    }
+
+    // A mix of one- and two-ingredient searches with occasional facets, sorts and second pages
+    private static String randomSearch(SplittableRandom random, String[] vocabulary) {
+        String q = vocabulary[random.nextInt(vocabulary.length)];
+        if (random.nextInt(3) == 0) {
+            q += "," + vocabulary[random.nextInt(vocabulary.length)];
+        }
+        String page = random.nextInt(5) == 0 ? "&offset=20" : "";
+        return "/search?q=" + URLEncoder.encode(q.toLowerCase(), StandardCharsets.UTF_8)
+                + FACETS[random.nextInt(FACETS.length)] + SORTS[random.nextInt(SORTS.length)] + page;
+    }
+
+    private static double percentile(long[] sorted, double fraction) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(fraction * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,125 @@
+package cookbook;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Generates reproducible synthetic catalogues for the benchmarks. Ingredient popularity follows a Zipf-like
+// curve (garlic and onion everywhere, saffron rarely) and cuisines follow a skewed mix, like real catalogues.
+final class SyntheticRecipes {
+    private static final String[] BASE_INGREDIENTS = {
+            "Garlic", "Onion", "Olive Oil", "Salt", "Pepper", "Butter", "Tomato", "Chicken", "Eggs", "Flour",
+            "Rice", "Ginger", "Lemon", "Parsley", "Cumin", "Milk", "Soy Sauce", "Carrots", "Basil", "Cream",
+            "Ground Beef", "Bell Peppers", "Coriander", "Potatoes", "Spinach", "Cheddar Cheese", "Parmesan Cheese",
+            "Mushrooms", "Shrimp", "Lime", "Chili Powder", "Oregano", "Honey", "Yogurt", "Broccoli", "Zucchini",
+            "Chickpeas", "Black Beans", "Tofu", "Sesame Oil", "Spaghetti", "Rice Noodles", "Coconut Milk",
+            "Garam Masala", "Paprika", "Thyme", "Rosemary", "Cilantro", "Avocado", "Quinoa", "Cucumber",
+            "Red Onion", "Feta Cheese", "Mozzarella Cheese", "Bacon", "Salmon", "Pork", "Lamb", "Lentils",
+            "Kidney Beans", "Corn", "Peas", "Cabbage", "Kale", "Sweet Potato", "Cinnamon", "Nutmeg", "Vanilla Extract",
+            "Maple Syrup", "Brown Sugar", "Baking Powder", "Bananas", "Peanuts", "Cashews", "Almonds", "Tahini",
+            "Fish Sauce", "Oyster Sauce", "Hoisin Sauce", "Miso", "Turmeric", "Cardamom", "Saffron", "Fennel",
+            "Leeks", "Celery", "Eggplant", "Pine Nuts", "Capers", "Anchovies", "Mint", "Dill", "Sour Cream",
+            "Tortillas", "Taco Shells", "Salsa", "Pizza Dough", "Bread Crumbs", "Croutons", "Romaine Lettuce",
+    };
+    private static final String[] VARIANTS = {"", "Fresh ", "Dried ", "Smoked ", "Roasted ", "Chopped "};
+    private static final String[] CUISINES = {
+            "Italian", "Indian", "Mexican", "Chinese", "American", "Mediterranean", "Thai", "French",
+            "Japanese", "Middle Eastern", "Greek", "Korean", "Vietnamese", "Spanish", "Ethiopian",
+    };
+    private static final String[] DIETARY_TAGS = {"Gluten-Free", "Vegan", "Vegetarian", "Dairy-Free"};
+    private static final String[] ADJECTIVES = {"Spicy", "Creamy", "Classic", "Quick", "Grilled", "Roasted", "Crispy", "Homestyle"};
+    private static final String[] DISHES = {"Curry", "Salad", "Stir Fry", "Soup", "Pasta", "Tacos", "Bowl", "Stew", "Skewers", "Bake"};
+    private static final String[] IMAGES = {
+            "j/images/shepeggeti.jpg", "j/images/vegetable-stir.jpg", "j/images/chicken-ceaser.jpg",
+            "j/images/chicken-tikka-masala.jpg", "j/images/vegan-chilli.jpg", "j/images/beef-tacos.jpg",
+            "j/images/Shrimp-Scampi.jpg", "j/images/quinoa-salad.jpg", "j/images/margherita-pizza.jpg",
+            "j/images/banana-pancakes.jpg", "j/images/bhudda-bowl.jpg", "j/images/pad-thai.jpg",
+            "j/images/grilled-vegetables.jpg", "j/images/falafal.jpg",
+    };
+
+    private SyntheticRecipes() {
+    }
+
+    // All ingredient names the generator can produce, most popular first
+    static String[] ingredientVocabulary() {
+        String[] vocabulary = new String[BASE_INGREDIENTS.length * VARIANTS.length];
+        int next = 0;
+        for (String variant : VARIANTS) {
+            for (String base : BASE_INGREDIENTS) {
+                vocabulary[next++] = variant + base;
+            }
+        }
+        return vocabulary;
+    }
+
+    // Generates count recipes; the same seed always yields the same catalogue
+    static List<Recipe> generate(int count, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] vocabulary = ingredientVocabulary();
+        double[] ingredientWeights = zipf(vocabulary.length, 1.1);
+        double[] cuisineWeights = zipf(CUISINES.length, 0.8);
+
+        List<Recipe> recipes = new ArrayList<>(count);
+        StringBuilder ingredients = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            // 5 to 14 distinct ingredients, drawn by popularity
+            ingredients.setLength(0);
+            int ingredientCount = 5 + random.nextInt(10);
+            int[] chosen = new int[ingredientCount];
+            for (int j = 0; j < ingredientCount; j++) {
+                int pick;
+                do {
+                    pick = sample(ingredientWeights, random);
+                } while (contains(chosen, j, pick));
+                chosen[j] = pick;
+                if (j > 0) {
+                    ingredients.append(", ");
+                }
+                ingredients.append(vocabulary[pick]);
+            }
+
+            String main = vocabulary[chosen[0]];
+            String name = ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + main + " " + DISHES[random.nextInt(DISHES.length)];
+            int difficultyRoll = random.nextInt(10);
+            String difficulty = difficultyRoll < 4 ? "Easy" : difficultyRoll < 8 ? "Medium" : "Hard";
+            String dietary = random.nextInt(3) == 0 ? ""
+                    : random.nextInt(4) == 0 ? DIETARY_TAGS[random.nextInt(2)] + ", " + DIETARY_TAGS[2 + random.nextInt(2)]
+                    : DIETARY_TAGS[random.nextInt(DIETARY_TAGS.length)];
+
+            recipes.add(new Recipe(name, ingredients.toString(),
+                    "1. Prepare the " + main.toLowerCase() + ".\n2. Combine everything and cook until done.\n3. Serve warm.",
+                    10 + random.nextInt(80), IMAGES[random.nextInt(IMAGES.length)], difficulty, 5 + random.nextInt(30),
+                    CUISINES[sample(cuisineWeights, random)], dietary));
+        }
+        return recipes;
+    }
+
+    // Cumulative weights proportional to 1 / rank^exponent
+    private static double[] zipf(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulative[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulative[rank] /= total;
+        }
+        return cumulative;
+    }
+
+    private static int sample(double[] cumulative, SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulative, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+    }
+
+    private static boolean contains(int[] values, int count, int value) {
+        for (int i = 0; i < count; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,206 @@
+package cookbook;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Read-only recipe repository over a memory-mapped binary catalogue (.rcb) written by BinaryRecipeWriter.
+//
+// Layout, big-endian:
+//   header      magic, version, recipe count, a spare int, dictionary offset, data offset (2 longs)
+//   records     one fixed-width record per recipe: cookingTime, prepTime (ints), difficulty and cuisine id
+//               (shorts), a spare int, then offset/length int pairs into the data region for the name, the
+//               ingredient ids, the dietary tag ids, the instructions and the imagePath
+//   dictionary  ingredient, cuisine and dietary tag names by id, three tables each holding a count followed by
+//               every name as a UTF-8 byte length and the bytes
+//   data        UTF-8 bytes of the text fields and int lists of the ingredient and dietary tag ids
+// Ids in the file are the file's own, one per spelling; opening interns each dictionary name once and maps file
+// ids to Recipe's dictionaries, so decoding a recipe never interns anything.
+class BinaryRecipeRepository implements RecipeRepository {
+    static final String EXTENSION = ".rcb"; // File extension of binary catalogues
+    static final int MAGIC = 0x52434231; // "RCB1"
+    static final int VERSION = 2; // Version 1 stored the ingredient and dietary lists as text
+    static final int HEADER_SIZE = 32;
+    static final int RECORD_SIZE = 56;
+    static final int COOKING_TIME = 0; // Field offsets within a record
+    static final int PREP_TIME = 4;
+    static final int DIFFICULTY = 8;
+    static final int CUISINE = 10;
+    static final int NAME = 16;
+    static final int INGREDIENTS = 24;
+    static final int DIETARY = 32;
+    static final int INSTRUCTIONS = 40;
+    static final int IMAGE_PATH = 48;
+    private static final int RECENT_SIZE = 1024; // Slots of the decoded-recipe cache, a power of two
+
+    private final FileChannel channel; // Open file backing the mapping
+    private final MappedByteBuffer data; // Whole file mapped read-only; pages are loaded by the OS on access
+    private final int size; // Number of recipes
+    private final Table ingredients; // Ingredient names of the file
+    private final Table cuisines; // Cuisine names of the file
+    private final Table dietaryTags; // Dietary tag names of the file
+    private final int strings; // Position of the data region in the mapping
+    // Recently decoded recipes by id modulo RECENT_SIZE, so repainting a row returns the same Recipe
+    private final AtomicReferenceArray<Decoded> recent = new AtomicReferenceArray<>(RECENT_SIZE);
+
+    public BinaryRecipeRepository(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Catalogue too large to map: " + path);
+            }
+            data = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (channel.size() < HEADER_SIZE || data.getInt(0) != MAGIC) {
+                throw new IOException("Not a recipe catalogue: " + path);
+            }
+            if (data.getInt(4) != VERSION) {
+                throw new IOException("Unsupported catalogue version " + data.getInt(4) + ", convert it again with RecipeStoreTool: " + path);
+            }
+            size = data.getInt(8);
+            int[] position = {(int) data.getLong(16)};
+            ingredients = readTable(position, Recipe.INGREDIENTS);
+            cuisines = readTable(position, Recipe.CUISINES);
+            dietaryTags = readTable(position, Recipe.DIETARY_TAGS);
+            strings = (int) data.getLong(24);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean holdsInstructions() {
+        return false;
+    }
+
+    // Decodes the recipe's fields straight from the mapping; instructions are only read when asked for
+    @Override
+    public Recipe get(int id) {
+        if (id < 0 || id >= size) {
+            throw new IndexOutOfBoundsException("Recipe id " + id + " out of range 0.." + size);
+        }
+        Decoded cached = recent.get(id & (RECENT_SIZE - 1));
+        if (cached != null && cached.id == id) {
+            return cached.recipe;
+        }
+        int record = HEADER_SIZE + id * RECORD_SIZE;
+        int cuisine = data.getShort(record + CUISINE);
+        Recipe recipe = new Recipe(text(record + NAME), ids(record + INGREDIENTS, ingredients),
+                () -> text(record + INSTRUCTIONS), data.getInt(record + COOKING_TIME), text(record + IMAGE_PATH),
+                Difficulty.values()[data.getShort(record + DIFFICULTY)], data.getInt(record + PREP_TIME),
+                cuisines.ids[cuisine], ids(record + DIETARY, dietaryTags), spelling(record, cuisine));
+        recent.set(id & (RECENT_SIZE - 1), new Decoded(id, recipe));
+        return recipe;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    // Reads one dictionary table at position[0], advancing it, and interns its names into dictionary
+    private Table readTable(int[] position, TermDictionary dictionary) {
+        Table table = new Table(data.getInt(position[0]));
+        position[0] += 4;
+        for (int id = 0; id < table.ids.length; id++) {
+            int length = data.getInt(position[0]);
+            table.names[id] = decode(position[0] + 4, length);
+            table.ids[id] = dictionary.intern(table.names[id]);
+            table.respelled[id] = !table.names[id].equals(dictionary.valueOf(table.ids[id]));
+            table.anyRespelled |= table.respelled[id];
+            position[0] += 4 + length;
+        }
+        return table;
+    }
+
+    // The recipe's ingredients, cuisine and dietary text when any name differs from the dictionaries, else null
+    private String[] spelling(int record, int cuisine) {
+        if (!cuisines.respelled[cuisine] && !respelled(record + INGREDIENTS, ingredients)
+                && !respelled(record + DIETARY, dietaryTags)) {
+            return null;
+        }
+        return new String[] {names(record + INGREDIENTS, ingredients), cuisines.names[cuisine],
+                names(record + DIETARY, dietaryTags)};
+    }
+
+    private boolean respelled(int reference, Table table) {
+        if (!table.anyRespelled) {
+            return false;
+        }
+        int offset = strings + data.getInt(reference);
+        for (int i = data.getInt(reference + 4) - 1; i >= 0; i--) {
+            if (table.respelled[data.getInt(offset + 4 * i)]) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Joins the names of the id list referenced at the given position as Recipe lists them
+    private String names(int reference, Table table) {
+        int offset = strings + data.getInt(reference);
+        StringBuilder joined = new StringBuilder();
+        for (int i = 0; i < data.getInt(reference + 4); i++) {
+            if (i > 0) {
+                joined.append(", ");
+            }
+            joined.append(table.names[data.getInt(offset + 4 * i)]);
+        }
+        return joined.toString();
+    }
+
+    // Decodes the string referenced by the offset/length pair at the given position
+    private String text(int reference) {
+        return decode(strings + data.getInt(reference), data.getInt(reference + 4));
+    }
+
+    // Reads the id list referenced by the offset/count pair at the given position, mapped to dictionary ids
+    private int[] ids(int reference, Table table) {
+        int offset = strings + data.getInt(reference);
+        int[] ids = new int[data.getInt(reference + 4)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = table.ids[data.getInt(offset + 4 * i)];
+        }
+        return ids;
+    }
+
+    private String decode(int position, int length) {
+        byte[] bytes = new byte[length];
+        data.get(position, bytes); // Absolute read, safe for concurrent readers of the shared buffer
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // One dictionary table of the file, indexed by file id
+    private static final class Table {
+        final int[] ids; // Recipe dictionary id of each name
+        final String[] names; // Names as the file spells them
+        final boolean[] respelled; // Whether the name differs from the dictionary's display form, e.g. "butter" against "Butter"
+        boolean anyRespelled; // Whether any name does, so most lookups can skip the check
+
+        Table(int size) {
+            ids = new int[size];
+            names = new String[size];
+            respelled = new boolean[size];
+        }
+    }
+
+    // A decoded recipe with its id, replaced as a unit so readers never see one without the other
+    private static final class Decoded {
+        final int id;
+        final Recipe recipe;
+
+        Decoded(int id, Recipe recipe) {
+            this.id = id;
+            this.recipe = recipe;
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package cookbook;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Writes recipes one at a time into the binary catalogue format read by BinaryRecipeRepository
+class BinaryRecipeWriter implements Closeable {
+    private final FileChannel out; // Catalogue being written: header and records go here directly
+    private final Path stringsFile; // Temporary file collecting the data region until the record count is known
+    private final OutputStream strings; // Buffered writer for the data region
+    private final ByteBuffer records = ByteBuffer.allocate(BinaryRecipeRepository.RECORD_SIZE * 1024); // Batch of pending records
+    private final Table ingredients = new Table(); // Ingredient names the file uses
+    private final Table cuisines = new Table(); // Cuisine names the file uses
+    private final Table dietaryTags = new Table(); // Dietary tag names the file uses
+    private long stringsLength; // Bytes written to the data region so far
+    private int count; // Recipes written so far
+
+    public BinaryRecipeWriter(Path path) throws IOException {
+        out = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        out.position(BinaryRecipeRepository.HEADER_SIZE); // The header is filled in on close
+        stringsFile = Files.createTempFile(path.toAbsolutePath().getParent(), "recipes", ".strings");
+        strings = new BufferedOutputStream(Files.newOutputStream(stringsFile), 1 << 16);
+    }
+
+    // Converts everything the reader yields into a binary catalogue at the given path
+    public static int write(RecipeReader reader, Path path) throws IOException {
+        try (BinaryRecipeWriter writer = new BinaryRecipeWriter(path)) {
+            Recipe recipe;
+            while ((recipe = reader.next()) != null) {
+                writer.add(recipe);
+            }
+            return writer.count;
+        }
+    }
+
+    // Appends one recipe to the catalogue
+    public void add(Recipe recipe) throws IOException {
+        if (!records.hasRemaining()) {
+            flushRecords();
+        }
+        int cuisine = cuisines.fileId(recipe.getCuisineType());
+        if (cuisine > Short.MAX_VALUE) {
+            throw new IOException("Too many distinct cuisines");
+        }
+        records.putInt(recipe.getCookingTime());
+        records.putInt(recipe.getPrepTime());
+        records.putShort((short) recipe.getDifficultyLevel().ordinal());
+        records.putShort((short) cuisine);
+        records.putInt(0); // Spare, keeps the references 8-byte aligned
+        putText(recipe.getName());
+        putIds(recipe.getIngredientNames(), ingredients);
+        putIds(recipe.getDietaryNames(), dietaryTags);
+        putText(recipe.getInstructions());
+        putText(recipe.getImagePath());
+        count++;
+    }
+
+    // Appends the dictionary and data region, then fills in the header
+    @Override
+    public void close() throws IOException {
+        try {
+            flushRecords();
+            strings.close();
+
+            long dictionaryOffset = out.position();
+            for (Table table : List.of(ingredients, cuisines, dietaryTags)) {
+                writeFully(ByteBuffer.allocate(4).putInt(table.names.size()).flip());
+                for (String name : table.names) {
+                    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+                    writeFully(ByteBuffer.allocate(4 + bytes.length).putInt(bytes.length).put(bytes).flip());
+                }
+            }
+
+            long stringsOffset = out.position();
+            if (stringsOffset + stringsLength > Integer.MAX_VALUE) {
+                throw new IOException("Catalogue exceeds the 2 GB limit of a single mapping");
+            }
+            try (FileChannel region = FileChannel.open(stringsFile, StandardOpenOption.READ)) {
+                long copied = 0;
+                while (copied < stringsLength) {
+                    copied += region.transferTo(copied, stringsLength - copied, out);
+                }
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(BinaryRecipeRepository.HEADER_SIZE)
+                    .putInt(BinaryRecipeRepository.MAGIC)
+                    .putInt(BinaryRecipeRepository.VERSION)
+                    .putInt(count)
+                    .putInt(0) // Spare
+                    .putLong(dictionaryOffset)
+                    .putLong(stringsOffset);
+            out.position(0);
+            writeFully(header.flip());
+        } finally {
+            out.close();
+            Files.deleteIfExists(stringsFile);
+        }
+    }
+
+    // Writes the text to the data region and records its offset and length
+    private void putText(String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        if (stringsLength + bytes.length > Integer.MAX_VALUE) {
+            throw new IOException("Catalogue exceeds the 2 GB limit of a single mapping");
+        }
+        records.putInt((int) stringsLength);
+        records.putInt(bytes.length);
+        strings.write(bytes);
+        stringsLength += bytes.length;
+    }
+
+    // Writes the names as the file's own ids to the data region and records their offset and count
+    private void putIds(String[] names, Table table) throws IOException {
+        if (stringsLength + 4L * names.length > Integer.MAX_VALUE) {
+            throw new IOException("Catalogue exceeds the 2 GB limit of a single mapping");
+        }
+        records.putInt((int) stringsLength);
+        records.putInt(names.length);
+        for (String name : names) {
+            int fileId = table.fileId(name);
+            strings.write(fileId >>> 24);
+            strings.write(fileId >>> 16);
+            strings.write(fileId >>> 8);
+            strings.write(fileId);
+        }
+        stringsLength += 4L * names.length;
+    }
+
+    private void flushRecords() throws IOException {
+        writeFully(records.flip());
+        records.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    // Numbers the names of one dictionary that the file uses, in order of first use. Names are kept exactly as
+    // the recipes spell them, so "Butter" and "butter" get separate file ids that open to the same dictionary id
+    private static final class Table {
+        private final List<String> names = new ArrayList<>(); // Names by file id
+        private final Map<String, Integer> fileIds = new HashMap<>(); // File id of each name
+
+        int fileId(String name) {
+            return fileIds.computeIfAbsent(name, n -> {
+                names.add(n);
+                return names.size() - 1;
+            });
+        }
+    }
+}
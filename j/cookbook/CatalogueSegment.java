@@ -0,0 +1,173 @@
+package cookbook;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Immutable part of the catalogue with its own keyword index, facet bitmaps, ranker, sort orders and spelling index.
+// Its recipes have local ids 0..size-1, in the order of their ascending catalogue ids.
+// Deletions are not recorded here but passed in by the snapshot that owns the segment.
+class CatalogueSegment {
+    private static final int[] NONE = new int[0];
+
+    private final int[] ids; // Ascending catalogue id of each local id
+    private final List<Recipe> recipes; // Recipe of each local id
+    private final RecipeSearchIndex index; // Keyword index over names and ingredients
+    private final RecipeFacets facets; // Facet bitmaps for the filters
+    private final RecipeRanker ranker; // Relevance scoring
+    private final RecipeOrders orders; // Total time, difficulty and name orders
+    private final SpellingIndex spelling; // Vocabulary for correcting misspelled keywords
+
+    // Indexes recipes, which have the given ascending catalogue ids; relevance counts their instructions only
+    // when rankInstructions is set
+    public CatalogueSegment(int[] ids, List<Recipe> recipes, boolean rankInstructions) {
+        this.ids = ids;
+        this.recipes = recipes;
+        this.index = new RecipeSearchIndex(recipes);
+        this.facets = new RecipeFacets(recipes);
+        this.ranker = new RecipeRanker(recipes, rankInstructions);
+        this.orders = new RecipeOrders(recipes);
+        this.spelling = new SpellingIndex(recipes);
+    }
+
+    // Segment over the consecutive catalogue ids start, start + 1, ... of recipes
+    public static CatalogueSegment range(List<Recipe> recipes, int start, boolean rankInstructions) {
+        int[] ids = new int[recipes.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = start + i;
+        }
+        return new CatalogueSegment(ids, recipes, rankInstructions);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int firstId() {
+        return ids.length == 0 ? Integer.MAX_VALUE : ids[0];
+    }
+
+    public int lastId() {
+        return ids.length == 0 ? Integer.MIN_VALUE : ids[ids.length - 1];
+    }
+
+    // Catalogue id of a local id
+    public int id(int local) {
+        return ids[local];
+    }
+
+    public Recipe recipe(int local) {
+        return recipes.get(local);
+    }
+
+    // Local id of a catalogue id, or -1 when this segment does not hold it
+    public int localOf(int id) {
+        int local = Arrays.binarySearch(ids, id);
+        return local >= 0 ? local : -1;
+    }
+
+    public RecipeFacets facets() {
+        return facets;
+    }
+
+    public RecipeRanker ranker() {
+        return ranker;
+    }
+
+    public RecipeOrders orders() {
+        return orders;
+    }
+
+    public SpellingIndex spelling() {
+        return spelling;
+    }
+
+    // Returns the ascending local ids of live recipes matching the query, among within (local ids) when given.
+    // Throws CancellationException if the calling thread is interrupted part way through.
+    public int[] search(SearchQuery query, int[] within, BitSet deleted) {
+        int[] matches = index.search(query.getKeywords(), within); // Ours to modify
+        BitSet facetMatches = facets.filter(query.getDifficulty(), query.getCuisine(), query.getDietary()); // Null when no filter is set
+        if (facetMatches == null && deleted == null) {
+            return matches;
+        }
+        int count = 0;
+        for (int local : matches) {
+            if ((facetMatches == null || facetMatches.get(local)) && (deleted == null || !deleted.get(local))) {
+                matches[count++] = local; // Compact in place
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    // Live recipes missing at most maxMissing of their ingredients from the pantry (distinct ingredient ids), grouped
+    // by how many they miss: element m lists the ascending local ids missing exactly m
+    public int[][] pantry(int[] pantry, int maxMissing, BitSet deleted) {
+        int[] missing = index.missingIngredients(pantry);
+        int[] bucketSizes = new int[maxMissing + 1];
+        for (int local = 0; local < missing.length; local++) {
+            if (missing[local] <= maxMissing && (deleted == null || !deleted.get(local))) {
+                bucketSizes[missing[local]]++;
+            }
+        }
+        int[][] byMissing = new int[maxMissing + 1][];
+        for (int m = 0; m <= maxMissing; m++) {
+            byMissing[m] = new int[bucketSizes[m]];
+            bucketSizes[m] = 0; // Reused as the fill position
+        }
+        for (int local = 0; local < missing.length; local++) {
+            int m = missing[local];
+            if (m <= maxMissing && (deleted == null || !deleted.get(local))) {
+                byMissing[m][bucketSizes[m]++] = local;
+            }
+        }
+        return byMissing;
+    }
+
+    // Picks the live recipes of this segment out of ascending catalogue ids and returns their local ids,
+    // or null for null
+    public int[] local(int[] catalogueIds, BitSet deleted) {
+        if (catalogueIds == null) {
+            return null;
+        }
+        if (ids.length == 0) {
+            return NONE; // firstId() and lastId() bound nothing here, and lastId() + 1 would overflow
+        }
+        int from = insertionPoint(catalogueIds, firstId());
+        int to = insertionPoint(catalogueIds, lastId() + 1);
+        int[] local = new int[to - from];
+        int count = 0;
+        if (lastId() - firstId() == ids.length - 1) {
+            // Consecutive ids, as every segment built by range() has: the local id is the offset from the first
+            for (int i = from; i < to; i++) {
+                int position = catalogueIds[i] - ids[0];
+                if (deleted == null || !deleted.get(position)) {
+                    local[count++] = position;
+                }
+            }
+            return count == local.length ? local : Arrays.copyOf(local, count);
+        }
+        int position = 0;
+        for (int i = from; i < to; i++) {
+            position = Arrays.binarySearch(ids, position, ids.length, catalogueIds[i]);
+            if (position < 0) {
+                position = -position - 1; // Not ours, e.g. a recipe living in another segment
+            } else if (deleted == null || !deleted.get(position)) {
+                local[count++] = position;
+            }
+        }
+        return count == local.length ? local : Arrays.copyOf(local, count);
+    }
+
+    // Maps local ids to catalogue ids in place
+    public int[] toCatalogueIds(int[] locals) {
+        for (int i = 0; i < locals.length; i++) {
+            locals[i] = ids[locals[i]];
+        }
+        return locals;
+    }
+
+    private static int insertionPoint(int[] sorted, int value) {
+        int position = Arrays.binarySearch(sorted, value);
+        return position >= 0 ? position : -position - 1;
+    }
+}
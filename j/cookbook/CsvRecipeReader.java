@@ -0,0 +1,107 @@
+package cookbook;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Streams recipes out of a CSV file whose header row names the Recipe properties; quoted fields may span lines
+class CsvRecipeReader implements RecipeReader {
+    private final Reader in; // Buffered source of the CSV text
+    private String[] header; // Column names from the first row
+    private int peeked = -2; // Next unread char, -1 at end of input, -2 when nothing has been peeked
+    private int recordNumber; // Number of recipes read so far, for error messages
+
+    public CsvRecipeReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public Recipe next() throws IOException {
+        if (header == null) {
+            List<String> names = readRow();
+            if (names == null) {
+                return null; // Empty file
+            }
+            header = names.toArray(new String[0]);
+        }
+        List<String> row = readRow();
+        while (row != null && row.size() == 1 && row.get(0).isEmpty()) {
+            row = readRow(); // Skip blank lines
+        }
+        if (row == null) {
+            return null;
+        }
+        if (row.size() != header.length) {
+            throw new IOException("Recipe #" + (recordNumber + 1) + " has " + row.size() + " columns, expected " + header.length);
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length; i++) {
+            fields.put(header[i].trim(), row.get(i));
+        }
+        return RecipeReader.toRecipe(fields, ++recordNumber);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Reads one row following RFC 4180 quoting, or returns null at end of input
+    private List<String> readRow() throws IOException {
+        if (peek() == -1) {
+            return null;
+        }
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            int c = read();
+            if (quoted) {
+                if (c == -1) {
+                    throw new IOException("Unterminated quoted field in recipe #" + (recordNumber + 1));
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        field.append((char) read()); // Doubled quote inside a quoted field
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == -1) {
+                row.add(field.toString());
+                return row;
+            } else if (c == '\r') {
+                if (peek() == '\n') {
+                    read();
+                }
+                row.add(field.toString());
+                return row;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        peeked = -2;
+        return c;
+    }
+}
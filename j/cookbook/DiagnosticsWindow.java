@@ -0,0 +1,61 @@
+package cookbook;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+
+// Hidden window showing Metrics.report(), opened from the main window with Ctrl+Shift+D.
+// Refreshes once a second while it is showing and stops refreshing when closed.
+class DiagnosticsWindow {
+    private static final int REFRESH_MILLIS = 1000;
+
+    private final JDialog dialog;
+    private final JTextArea reportArea = new JTextArea(24, 110);
+    private final Timer refresh = new Timer(REFRESH_MILLIS, e -> update());
+
+    public DiagnosticsWindow(JFrame owner) {
+        dialog = new JDialog(owner, "Diagnostics", false); // Modeless, so the app can be used while watching
+        reportArea.setEditable(false);
+        reportArea.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 12)); // Keeps the report columns aligned
+
+        JButton resetButton = new JButton("Reset");
+        resetButton.addActionListener(e -> {
+            Metrics.reset();
+            update();
+        });
+        JButton copyButton = new JButton("Copy");
+        copyButton.addActionListener(e -> {
+            reportArea.selectAll();
+            reportArea.copy(); // Paste into a bug report
+            reportArea.select(0, 0);
+        });
+        JPanel buttons = new JPanel(new FlowLayout(FlowLayout.RIGHT));
+        buttons.add(resetButton);
+        buttons.add(copyButton);
+
+        dialog.add(new JScrollPane(reportArea), BorderLayout.CENTER);
+        dialog.add(buttons, BorderLayout.SOUTH);
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+        dialog.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) {
+                refresh.stop(); // The dialog is only hidden, so it can be shown again later
+            }
+        });
+    }
+
+    // Shows the window, or brings it to the front if it is already open
+    public void show() {
+        update();
+        refresh.start();
+        dialog.setVisible(true);
+        dialog.toFront();
+    }
+
+    private void update() {
+        reportArea.setText(Metrics.report());
+        reportArea.setCaretPosition(0);
+    }
+}
@@ -0,0 +1,28 @@
+package cookbook;
+
+// Difficulty level of a recipe, ordered from easiest to hardest
+enum Difficulty {
+    EASY("Easy"),
+    MEDIUM("Medium"),
+    HARD("Hard");
+
+    private final String label; // Name shown in the UI and stored in catalogue files
+
+    Difficulty(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // Parses a label such as "Easy", ignoring case and surrounding whitespace
+    public static Difficulty fromLabel(String label) {
+        for (Difficulty difficulty : values()) {
+            if (difficulty.label.equalsIgnoreCase(label.trim())) {
+                return difficulty;
+            }
+        }
+        throw new IllegalArgumentException("Unknown difficulty: " + label);
+    }
+}
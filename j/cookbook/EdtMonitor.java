@@ -0,0 +1,46 @@
+package cookbook;
+
+import java.awt.*;
+
+// Times every event the Event Dispatch Thread dispatches, so a slow listener, layout or paint shows up in
+// Metrics.EDT_EVENT, and events over Metrics.EDT_STALL_NANOS count as stalls and become JFR events.
+class EdtMonitor extends EventQueue {
+    private int depth; // Dispatches in progress; above 1 while a modal dialog runs its own event loop
+    private long nestedDispatches; // Events dispatched inside another event's dispatch
+
+    // Replaces the system event queue with a monitored one; call once, at startup
+    static void install() {
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(new EdtMonitor());
+    }
+
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        if (depth > 0) {
+            nestedDispatches++;
+        }
+        long nestedBefore = nestedDispatches;
+        Metrics.EdtStallEvent stall = new Metrics.EdtStallEvent();
+        stall.begin();
+        long start = System.nanoTime();
+        depth++;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            depth--;
+            long elapsed = System.nanoTime() - start;
+            // An event that ran a nested loop (a modal dialog) waited for the user rather than blocking the EDT
+            if (nestedDispatches == nestedBefore) {
+                Metrics.EDT_EVENT.record(elapsed);
+                if (elapsed > Metrics.EDT_STALL_NANOS) {
+                    Metrics.EDT_STALLS.increment();
+                    Metrics.EDT_STALL_NANOS_TOTAL.add(elapsed);
+                }
+                stall.end();
+                if (stall.shouldCommit()) { // Only when JFR records and the event exceeded the 100 ms threshold
+                    stall.eventType = event.getClass().getSimpleName() + " from " + event.getSource().getClass().getSimpleName();
+                    stall.commit();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package cookbook;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Bitmap index for one recipe facet (difficulty, cuisine or dietary tag), keyed by the facet value's id
+class FacetIndex {
+    private static final BitSet EMPTY = new BitSet(); // Shared result for values no recipe has
+
+    private final List<BitSet> bitmaps = new ArrayList<>(); // Recipe ids carrying each facet value id
+    private int[] counts = new int[8]; // Number of recipes carrying each facet value id
+
+    // Records that the recipe with the given id carries the facet value
+    public void add(int recipeId, int value) {
+        while (bitmaps.size() <= value) {
+            bitmaps.add(new BitSet());
+        }
+        if (counts.length <= value) {
+            counts = Arrays.copyOf(counts, Math.max(value + 1, counts.length * 2));
+        }
+        BitSet bitmap = bitmaps.get(value);
+        if (!bitmap.get(recipeId)) {
+            bitmap.set(recipeId);
+            counts[value]++; // Keep the count in step so it never needs a rescan
+        }
+    }
+
+    // Returns the ids of recipes carrying the value; callers must not modify the returned bitmap
+    public BitSet matching(int value) {
+        return value >= 0 && value < bitmaps.size() ? bitmaps.get(value) : EMPTY;
+    }
+
+    // Returns how many recipes carry the value
+    public int count(int value) {
+        return value >= 0 && value < bitmaps.size() ? counts[value] : 0;
+    }
+
+    // Copy of the counts, indexed by facet value id
+    public int[] counts() {
+        return Arrays.copyOf(counts, bitmaps.size());
+    }
+}
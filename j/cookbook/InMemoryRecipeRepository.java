@@ -0,0 +1,29 @@
+package cookbook;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Repository holding fully materialized recipes on the heap, used for imported JSON and CSV catalogues
+class InMemoryRecipeRepository implements RecipeRepository {
+    private final List<Recipe> recipes; // Recipes in id order
+
+    public InMemoryRecipeRepository(List<Recipe> recipes) {
+        this.recipes = new ArrayList<>(recipes);
+    }
+
+    @Override
+    public int size() {
+        return recipes.size();
+    }
+
+    @Override
+    public Recipe get(int id) {
+        return recipes.get(id);
+    }
+
+    @Override
+    public List<Recipe> asList() {
+        return Collections.unmodifiableList(recipes);
+    }
+}
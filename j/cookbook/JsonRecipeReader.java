@@ -0,0 +1,196 @@
+package cookbook;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.HashMap;
+import java.util.Map;
+
+// Streams recipes out of a JSON array of objects, parsing one object at a time
+class JsonRecipeReader implements RecipeReader {
+    private final Reader in; // Buffered source of the JSON text
+    private int peeked = -2; // Next unread char, -1 at end of input, -2 when nothing has been peeked
+    private boolean started; // Whether the opening bracket of the array has been consumed
+    private boolean finished; // Whether the closing bracket of the array has been consumed
+    private int recordNumber; // Number of recipes read so far, for error messages
+
+    public JsonRecipeReader(Reader in) {
+        this.in = in;
+    }
+
+    @Override
+    public Recipe next() throws IOException {
+        Map<String, String> fields = nextFields();
+        return fields != null ? RecipeReader.toRecipe(fields, ++recordNumber) : null;
+    }
+
+    // Reads the next object's raw field values without building a Recipe, or returns null at the end of the array
+    Map<String, String> nextFields() throws IOException {
+        if (finished) {
+            return null;
+        }
+        if (!started) {
+            expect('[');
+            started = true;
+            if (peekToken() == ']') {
+                read();
+                finished = true;
+                return null;
+            }
+        } else {
+            // Objects are separated by commas and the array ends with a closing bracket
+            int c = readToken();
+            if (c == ']') {
+                finished = true;
+                return null;
+            }
+            if (c != ',') {
+                throw error("expected ',' or ']'");
+            }
+        }
+        return readObject();
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // Reads one object whose values are strings, numbers, booleans, null or arrays of strings
+    private Map<String, String> readObject() throws IOException {
+        Map<String, String> fields = new HashMap<>();
+        expect('{');
+        if (peekToken() == '}') {
+            read();
+            return fields;
+        }
+        while (true) {
+            expect('"');
+            String key = readString();
+            expect(':');
+            fields.put(key, readValue());
+            int c = readToken();
+            if (c == '}') {
+                return fields;
+            }
+            if (c != ',') {
+                throw error("expected ',' or '}'");
+            }
+        }
+    }
+
+    // Reads a scalar as text; an array of strings is joined with ", " like the comma-separated fields
+    private String readValue() throws IOException {
+        int c = readToken();
+        if (c == '"') {
+            return readString();
+        }
+        if (c == '[') {
+            StringBuilder joined = new StringBuilder();
+            if (peekToken() == ']') {
+                read();
+                return "";
+            }
+            while (true) {
+                expect('"');
+                if (joined.length() > 0) {
+                    joined.append(", ");
+                }
+                joined.append(readString());
+                int next = readToken();
+                if (next == ']') {
+                    return joined.toString();
+                }
+                if (next != ',') {
+                    throw error("expected ',' or ']'");
+                }
+            }
+        }
+        // Numbers and literals run until the next structural character
+        StringBuilder literal = new StringBuilder();
+        literal.append((char) c);
+        while (peek() != -1 && ",}] \t\r\n".indexOf(peek()) < 0) {
+            literal.append((char) read());
+        }
+        String text = literal.toString();
+        return text.equals("null") ? null : text;
+    }
+
+    // Reads the rest of a string literal after its opening quote
+    private String readString() throws IOException {
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                throw error("unterminated string");
+            }
+            if (c == '"') {
+                return text.toString();
+            }
+            if (c != '\\') {
+                text.append((char) c);
+                continue;
+            }
+            int escaped = read();
+            switch (escaped) {
+                case 'n': text.append('\n'); break;
+                case 't': text.append('\t'); break;
+                case 'r': text.append('\r'); break;
+                case 'b': text.append('\b'); break;
+                case 'f': text.append('\f'); break;
+                case 'u':
+                    char[] hex = new char[4];
+                    for (int i = 0; i < 4; i++) {
+                        hex[i] = (char) read();
+                    }
+                    try {
+                        text.append((char) Integer.parseInt(new String(hex), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("invalid unicode escape");
+                    }
+                    break;
+                case -1: throw error("unterminated string");
+                default: text.append((char) escaped); // Covers \" \\ and \/
+            }
+        }
+    }
+
+    private void expect(char expected) throws IOException {
+        if (readToken() != expected) {
+            throw error("expected '" + expected + "'");
+        }
+    }
+
+    // Reads the next char that is not whitespace
+    private int readToken() throws IOException {
+        int c = read();
+        while (c == ' ' || c == '\t' || c == '\r' || c == '\n') {
+            c = read();
+        }
+        return c;
+    }
+
+    // Peeks at the next char that is not whitespace
+    private int peekToken() throws IOException {
+        while (peek() == ' ' || peek() == '\t' || peek() == '\r' || peek() == '\n') {
+            read();
+        }
+        return peek();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+
+    private int read() throws IOException {
+        int c = peek();
+        peeked = -2;
+        return c;
+    }
+
+    private IOException error(String message) {
+        return new IOException("Malformed JSON after recipe #" + recordNumber + ": " + message);
+    }
+}
@@ -0,0 +1,123 @@
+package cookbook;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// Log-linear histogram of non-negative values such as nanoseconds, in the spirit of HdrHistogram: values below 64
+// get a bucket each, larger ones 32 buckets per power of two, so any recorded value is known to within about 3%.
+// Recording is lock-free and allocation-free, safe from any thread; values above MAX_VALUE count as MAX_VALUE.
+class LatencyHistogram {
+    static final long MAX_VALUE = (1L << 40) - 1; // About 18 minutes in nanoseconds
+    private static final int SUB_BITS = 5; // 2^5 = 32 buckets per power of two
+    private static final int LINEAR = 2 << SUB_BITS; // Values below this get a bucket each
+    private static final int BUCKETS = LINEAR + (40 - SUB_BITS - 1) * (1 << SUB_BITS);
+
+    private final String name; // Shown in reports, e.g. "search"
+    private final String unit; // "ns" for latencies, "" for plain counts such as result sizes
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder sum = new LongAdder(); // Sum of the values recorded, for the mean
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0); // Largest value recorded
+
+    public LatencyHistogram(String name, String unit) {
+        this.name = name;
+        this.unit = unit;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public void record(long value) {
+        long clamped = Math.max(0, Math.min(value, MAX_VALUE));
+        counts.incrementAndGet(bucketOf(clamped));
+        sum.add(clamped);
+        max.accumulate(clamped);
+    }
+
+    // Records the time since startNanos, a System.nanoTime() reading, and returns it
+    public long recordSince(long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        record(elapsed);
+        return elapsed;
+    }
+
+    // Copies the counts, so percentiles can be read while recording goes on; concurrent records may be half in
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = counts.get(i);
+            total += copy[i];
+        }
+        return new Snapshot(copy, total, sum.sum(), max.get());
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    private static int bucketOf(long value) {
+        if (value < LINEAR) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BITS; // At least 1 here
+        return LINEAR + (shift - 1) * (1 << SUB_BITS) + (int) ((value >>> shift) - (1 << SUB_BITS));
+    }
+
+    // Largest value that falls into the bucket, so percentiles never understate
+    private static long highestOf(int bucket) {
+        if (bucket < LINEAR) {
+            return bucket;
+        }
+        int shift = (bucket - LINEAR) / (1 << SUB_BITS) + 1;
+        long first = ((long) ((bucket - LINEAR) % (1 << SUB_BITS)) + (1 << SUB_BITS)) << shift;
+        return first + (1L << shift) - 1;
+    }
+
+    // Point-in-time view of a histogram
+    static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+
+        Snapshot(long[] counts, long count, long sum, long max) {
+            this.counts = counts;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        public long getCount() { return count; }
+        public long getMax() { return max; }
+
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        // Value at or below which the given fraction of the recorded values fall, e.g. 0.99 for p99
+        public long percentile(double fraction) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(fraction * count));
+            long seen = 0;
+            for (int bucket = 0; bucket < counts.length; bucket++) {
+                seen += counts[bucket];
+                if (seen >= rank) {
+                    return Math.min(highestOf(bucket), max);
+                }
+            }
+            return max;
+        }
+    }
+}
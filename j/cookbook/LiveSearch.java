@@ -0,0 +1,109 @@
+package cookbook;
+
+import javax.swing.*;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+// Runs searches as the user types: input is debounced on the EDT, queries run on a background thread,
+// a newer query cancels the one in flight, and only the latest result is handed back to the EDT
+class LiveSearch {
+    private static final int DEBOUNCE_MILLIS = 150; // Quiet period after the last keystroke before searching
+    private static final int RANKED_RESULTS = 1000; // Best relevance matches shown; nobody scrolls past these
+
+    private final Supplier<RecipeSearcher> snapshots; // Current catalogue snapshot, e.g. RecipeCatalogue::snapshot
+    private final Supplier<SearchQuery> currentQuery; // Reads the query from the UI, called on the EDT
+    private final Listener onResults; // Receives the ranked results on the EDT
+    private final Timer debounce; // Restarted on each keystroke, fires once typing pauses
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "recipe-search");
+        thread.setDaemon(true); // Never keep the application alive for a pending search
+        return thread;
+    });
+    private Future<?> inFlight; // Latest submitted search, touched only on the EDT
+    private long generation; // Incremented per submitted search, so stale results are dropped
+
+    // Unranked matches of the last search that ran to completion, touched only on the worker thread
+    private RecipeSearcher lastSnapshot;
+    private SearchQuery lastQuery;
+    private int[] lastResults;
+
+    public LiveSearch(Supplier<RecipeSearcher> snapshots, Supplier<SearchQuery> currentQuery,
+                      Listener onResults) {
+        this.snapshots = snapshots;
+        this.currentQuery = currentQuery;
+        this.onResults = onResults;
+        this.debounce = new Timer(DEBOUNCE_MILLIS, e -> searchNow());
+        this.debounce.setRepeats(false);
+    }
+
+    // Schedules a search once input has been quiet for the debounce period; call on the EDT
+    public void searchSoon() {
+        debounce.restart();
+    }
+
+    // Starts a search for the current input right away, cancelling any search still running; call on the EDT
+    public void searchNow() {
+        debounce.stop();
+        SearchQuery query = currentQuery.get();
+        if (inFlight != null) {
+            inFlight.cancel(true); // Interrupts the index scan, which gives up at its next checkpoint
+        }
+        long submitted = ++generation;
+        inFlight = worker.submit(() -> {
+            RecipeSearcher searcher = snapshots.get(); // One snapshot for the search and the recipes it returns
+            Metrics.SearchEvent event = new Metrics.SearchEvent();
+            List<Recipe> results;
+            String[] suggestion;
+            boolean corrected;
+            try {
+                int[] matches = run(searcher, query);
+                suggestion = searcher.corrections(query.getKeywords());
+                corrected = matches.length == 0 && suggestion != null;
+                SearchQuery shown = corrected ? query.withKeywords(suggestion) : query;
+                if (corrected) {
+                    matches = searcher.search(shown); // Nothing matched as typed, so show the likely intended recipes
+                }
+                results = searcher.recipes(searcher.rank(shown, matches, RANKED_RESULTS));
+                event.finish(shown, matches.length, corrected);
+            } catch (CancellationException e) {
+                Metrics.SEARCHES_CANCELLED.increment();
+                return; // Superseded by a newer query
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (submitted == generation) { // Only the newest query may replace what is on screen
+                    onResults.onResults(query, results, suggestion, corrected);
+                }
+            });
+        });
+    }
+
+    // Runs on the worker thread and returns the ascending ids of all matches; narrows the previous results
+    // instead of searching everything when the catalogue has not changed since
+    private int[] run(RecipeSearcher searcher, SearchQuery query) {
+        int[] results;
+        if (searcher != lastSnapshot) {
+            results = searcher.search(query); // Recipes were edited, so earlier results may be stale
+        } else if (lastQuery != null && query.sameMatches(lastQuery)) {
+            results = lastResults; // Only the sort order changed
+        } else if (lastQuery != null && query.refines(lastQuery)) {
+            results = searcher.search(query, lastResults); // e.g. "chick" -> "chicken" only re-checks earlier hits
+        } else {
+            results = searcher.search(query);
+        }
+        lastSnapshot = searcher;
+        lastQuery = query;
+        lastResults = results;
+        return results;
+    }
+
+    // Receives the outcome of a search on the EDT
+    interface Listener {
+        // results are for query, or for the suggested keywords when corrected is set because the query matched
+        // nothing; suggestion is the spelling correction of the query's keywords, or null if they look right
+        void onResults(SearchQuery query, List<Recipe> results, String[] suggestion, boolean corrected);
+    }
+}
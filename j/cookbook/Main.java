@@ -0,0 +1,384 @@
+package cookbook;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import java.awt.*;
+import java.awt.event.*;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+// GUI class to display and interact with recipes
+class RecipeGUI {
+    private final RecipeCatalogue catalogue; // Recipes with their search engine, shared with the HTTP service
+    private final JFrame frame = new JFrame("Recipe Library"); // Main window frame
+    private final JTextField searchField = new JTextField(20); // Text field for keyword search
+    private final JLabel suggestionLabel = new JLabel(); // "Did you mean" line under the search field, hidden when empty
+    private String[] suggestion; // Keywords the suggestion label offers, null when hidden
+    private final RecipeListModel recipeModel = new RecipeListModel(); // Filtered recipes shown in the list
+    private final JList<Recipe> recipeList = new JList<>(recipeModel); // Virtualized list that only paints visible cards
+    private JScrollPane scrollPane; // Scroll pane wrapping the recipe list
+    private final JComboBox<String> difficultyFilter = new JComboBox<>(new String[]{"All", "Easy", "Medium", "Hard"}); // Dropdown for difficulty filter
+    private final JComboBox<String> cuisineFilter = new JComboBox<>(new String[]{"All", "Italian", "Chinese", "Indian", "Mexican"}); // Dropdown for cuisine filter
+    private final JComboBox<String> dietaryFilter = new JComboBox<>(new String[]{"All", "Gluten-Free", "Vegan", "Vegetarian"}); // Dropdown for dietary preferences filter
+    private final JComboBox<SortOrder> sortOrder = new JComboBox<>(SortOrder.values()); // Dropdown for the result order
+    private final LiveSearch liveSearch; // Debounced background search driven by the search field and filters
+    private PantryDialog pantryDialog; // Pantry search window, whose pantry shopping lists leave out
+    private final ThumbnailService thumbnails = new ThumbnailService(
+            Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1)), // Decoder threads, leaving a core for the EDT
+            32L * 1024 * 1024, // Keep up to 32 MB of scaled images in memory
+            Paths.get(System.getProperty("user.home"), ".cookbook", "thumbnails")); // Thumbnails persisted across restarts
+    public RecipeGUI() {
+        Metrics.register(); // Exposes the latency metrics over JMX as cookbook:type=Metrics
+        catalogue = loadCatalogue(); // Same engine as the HTTP search service
+        liveSearch = new LiveSearch(catalogue::snapshot, this::currentQuery, (query, results, suggestion, corrected) -> {
+            showSuggestion(query, suggestion, corrected);
+            updateRecipePanel(results);
+        });
+        setupGUI();
+    }
+
+    // Opens the catalogue named by the cookbook.catalogue property (JSON, CSV or binary .rcb), j/recipes.json by default
+    private static RecipeCatalogue loadCatalogue() {
+        Path catalogue = RecipeCatalogue.configuredPath();
+        try {
+            return RecipeCatalogue.open(catalogue);
+        } catch (IOException e) {
+            JOptionPane.showMessageDialog(null, "Could not load recipes from " + catalogue + ":\n" + e.getMessage(),
+                    "Recipe Library", JOptionPane.ERROR_MESSAGE);
+            return new RecipeCatalogue(new ArrayList<>());
+        }
+    }
+
+    private void setupGUI() {
+        frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE); // Ensures the application exits when the window is closed
+        frame.setSize(800, 600); // Sets the initial size of the frame
+        frame.setExtendedState(JFrame.MAXIMIZED_BOTH); // Enables full-screen mode
+
+        // Top panel to hold the search and filter components
+        JPanel topPanel = new JPanel(new BorderLayout());
+
+        // Search label and button components
+        JLabel searchLabel = new JLabel("Search:");
+        JButton searchButton = new JButton("Search");
+        searchButton.addActionListener(e -> searchRecipes()); // Action listener for search functionality
+        searchField.addActionListener(e -> searchRecipes()); // Enter searches immediately
+        searchField.getDocument().addDocumentListener(new DocumentListener() {
+            // Search as the user types, once typing pauses
+            @Override
+            public void insertUpdate(DocumentEvent e) { liveSearch.searchSoon(); }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) { liveSearch.searchSoon(); }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) { liveSearch.searchSoon(); }
+        });
+
+        // Panel for search bar and button
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        searchPanel.add(searchLabel); // Adds the search label to the panel
+        searchPanel.add(searchField); // Adds the search text field to the panel
+        searchPanel.add(searchButton); // Adds the search button to the panel
+
+        // Pantry search and a merged shopping list for the recipes selected in the list
+        pantryDialog = new PantryDialog(frame, catalogue::snapshot, () -> (SortOrder) sortOrder.getSelectedItem(),
+                (pantry, recipes) -> {
+                    showSuggestion(null, null, false); // Pantry results have no keywords to correct
+                    updateRecipePanel(recipes);
+                });
+        JButton pantryButton = new JButton("Pantry...");
+        pantryButton.addActionListener(e -> pantryDialog.show());
+        JButton shoppingButton = new JButton("Shopping List");
+        shoppingButton.addActionListener(e -> showShoppingList());
+        searchPanel.add(pantryButton);
+        searchPanel.add(shoppingButton);
+
+        // Spelling suggestion under the search bar; clicking it searches for the suggested keywords
+        JPanel suggestionPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        suggestionLabel.setForeground(new Color(0, 102, 204)); // Link blue, so it reads as clickable
+        suggestionLabel.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
+        suggestionLabel.setVisible(false);
+        suggestionLabel.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (suggestion != null) {
+                    searchField.setText(String.join(", ", suggestion)); // Replaces the misspelled keywords
+                    searchRecipes();
+                }
+            }
+        });
+        suggestionPanel.add(suggestionLabel);
+
+        // Panel for filter dropdowns
+        JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        // Shows e.g. "Easy (6)" in the dropdown, counted on the current snapshot so edits show up
+        showFacetCounts(difficultyFilter, value -> catalogue.snapshot().difficultyCount(value));
+        showFacetCounts(cuisineFilter, value -> catalogue.snapshot().cuisineCount(value));
+        showFacetCounts(dietaryFilter, value -> catalogue.snapshot().dietaryCount(value));
+        difficultyFilter.addActionListener(e -> searchRecipes()); // Changing a filter refreshes the results right away
+        cuisineFilter.addActionListener(e -> searchRecipes());
+        dietaryFilter.addActionListener(e -> searchRecipes());
+        sortOrder.addActionListener(e -> searchRecipes()); // Re-sorting reuses the cached matches
+        filterPanel.add(new JLabel("Difficulty:")); // Label for difficulty filter
+        filterPanel.add(difficultyFilter); // Dropdown for difficulty selection
+        filterPanel.add(new JLabel("Cuisine:")); // Label for cuisine filter
+        filterPanel.add(cuisineFilter); // Dropdown for cuisine selection
+        filterPanel.add(new JLabel("Dietary:")); // Label for dietary preferences filter
+        filterPanel.add(dietaryFilter); // Dropdown for dietary preferences selection
+        filterPanel.add(new JLabel("Sort:")); // Label for the result order
+        filterPanel.add(sortOrder); // Dropdown for relevance, total time, difficulty or name order
+
+        // Add search and filter panels to the top panel
+        topPanel.add(searchPanel, BorderLayout.NORTH); // Adds the search panel to the top
+        topPanel.add(suggestionPanel, BorderLayout.CENTER); // Did-you-mean line between search and filters
+        topPanel.add(filterPanel, BorderLayout.SOUTH); // Adds the filter panel below the search panel
+
+        // Recipe list configuration: one recycled card renderer paints whichever rows are in the viewport
+        RecipeCardRenderer cardRenderer = new RecipeCardRenderer(thumbnails);
+        recipeList.setCellRenderer(cardRenderer);
+        recipeList.setFixedCellHeight(RecipeCardRenderer.CARD_HEIGHT); // Fixed row size, so no row is ever measured
+        recipeList.setFixedCellWidth(400); // Minimum card width; cards stretch to the viewport width
+        recipeList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION); // Ctrl/Shift-click picks a meal plan
+        recipeList.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                // The painted button is not a live component, so hit-test its position within the clicked card
+                int index = recipeList.locationToIndex(e.getPoint());
+                Rectangle cell = index < 0 ? null : recipeList.getCellBounds(index, index);
+                if (cell != null && cell.contains(e.getPoint())) {
+                    Rectangle button = cardRenderer.viewButtonBounds(cell.getSize());
+                    if (button.contains(e.getX() - cell.x, e.getY() - cell.y) || e.getClickCount() == 2) {
+                        showRecipeDetails(recipeModel.getElementAt(index)); // Button click or double click opens the details
+                    }
+                }
+            }
+        });
+        recipeList.getInputMap().put(KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0), "showDetails");
+        recipeList.getActionMap().put("showDetails", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                Recipe selected = recipeList.getSelectedValue();
+                if (selected != null) {
+                    showRecipeDetails(selected); // Enter opens the details of the selected card
+                }
+            }
+        });
+        scrollPane = new JScrollPane(recipeList); // Adds scroll functionality to the recipe list
+        scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED); // Show vertical scrollbar when needed
+
+        // Enhance scroll behavior for smoother navigation
+        JScrollBar verticalScrollBar = scrollPane.getVerticalScrollBar();
+        verticalScrollBar.setUnitIncrement(12); // Sets the scroll speed
+
+        // Add top panel and scroll pane to the main frame
+        frame.add(topPanel, BorderLayout.NORTH); // Places the top panel at the top of the frame
+        frame.add(scrollPane, BorderLayout.CENTER); // Places the scroll pane in the center of the frame
+
+        // Hidden diagnostics window with the search, rendering and image metrics
+        DiagnosticsWindow diagnostics = new DiagnosticsWindow(frame);
+        JRootPane rootPane = frame.getRootPane();
+        rootPane.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(
+                KeyStroke.getKeyStroke(KeyEvent.VK_D, InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK), "diagnostics");
+        rootPane.getActionMap().put("diagnostics", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                diagnostics.show(); // Ctrl+Shift+D
+            }
+        });
+
+        searchRecipes(); // Fills the recipe panel with the full list of recipes
+        frame.setVisible(true); // Makes the frame visible
+    }
+
+    // Renders each dropdown entry with the number of recipes carrying that value
+    private void showFacetCounts(JComboBox<String> filter, ToIntFunction<String> countOf) {
+        filter.setRenderer(new DefaultListCellRenderer() {
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                String label = String.format("%s (%,d)", value, countOf.applyAsInt((String) value)); // Counts come from the bitmaps, no rescan
+                return super.getListCellRendererComponent(list, label, index, isSelected, cellHasFocus);
+            }
+        });
+    }
+
+    private void searchRecipes() {
+        liveSearch.searchNow(); // Runs in the background; the results are swapped in on the EDT when ready
+    }
+
+    // Reads the search keywords, selected filters and sort order from the UI; called on the EDT
+    private SearchQuery currentQuery() {
+        // Retrieve the search keyword(s), lowercased and split by comma with whitespace trimmed
+        String[] keywords = SearchQuery.keywordsOf(searchField.getText());
+
+        // Get the selected filter values for difficulty, cuisine, and dietary preferences
+        String selectedDifficulty = (String) difficultyFilter.getSelectedItem(); // Retrieves selected difficulty
+        String selectedCuisine = (String) cuisineFilter.getSelectedItem(); // Retrieves selected cuisine
+        String selectedDietary = (String) dietaryFilter.getSelectedItem(); // Retrieves selected dietary preference
+
+        SortOrder selectedSort = (SortOrder) sortOrder.getSelectedItem(); // Retrieves selected result order
+
+        return new SearchQuery(keywords, selectedDifficulty, selectedCuisine, selectedDietary, selectedSort);
+    }
+
+    // Shows "Did you mean" for a spelling correction, or says the results are for it when the query matched nothing
+    private void showSuggestion(SearchQuery query, String[] suggestion, boolean corrected) {
+        this.suggestion = suggestion;
+        if (suggestion == null) {
+            suggestionLabel.setVisible(false);
+            return;
+        }
+        String suggested = String.join(", ", suggestion);
+        suggestionLabel.setText(corrected
+                ? "No recipes match \"" + String.join(", ", query.getKeywords()) + "\". Showing results for: " + suggested
+                : "Did you mean: " + suggested + "?");
+        suggestionLabel.setVisible(true);
+    }
+
+    // Shows one merged list of the ingredients the selected recipes need, minus those in the pantry
+    private void showShoppingList() {
+        List<Recipe> selected = recipeList.getSelectedValuesList();
+        if (selected.isEmpty()) {
+            JOptionPane.showMessageDialog(frame, "Select one or more recipes first (Ctrl-click to pick several).",
+                    "Shopping List", JOptionPane.INFORMATION_MESSAGE);
+            return;
+        }
+        Pantry pantry = pantryDialog.getPantry();
+        ShoppingList list = ShoppingList.of(selected, pantry);
+        JTextArea listArea = new JTextArea(list.toString(), Math.min(Math.max(list.size(), 5), 25), 40);
+        listArea.setEditable(false);
+        String title = String.format("%d ingredients for %d recipes%s", list.size(), list.getRecipes(),
+                pantry.isEmpty() ? "" : ", leaving out the pantry");
+        JOptionPane.showMessageDialog(frame, new JScrollPane(listArea), title, JOptionPane.PLAIN_MESSAGE);
+    }
+
+    private void updateRecipePanel(List<Recipe> recipesToShow) {
+        long start = System.nanoTime();
+        recipeModel.setRecipes(recipesToShow); // The list only renders the rows that scroll into view
+        Metrics.RESULTS_UPDATE.recordSince(start);
+
+        // Automatically scrolls to the top of the recipe list
+        SwingUtilities.invokeLater(() -> {
+            // Retrieve the vertical scrollbar of the JScrollPane containing the recipe list
+            JScrollBar verticalBar = scrollPane.getVerticalScrollBar();
+            // Set the scrollbar position to the top (minimum value) to ensure the list starts at the top
+            verticalBar.setValue(verticalBar.getMinimum());
+        });
+    }
+
+    private void loadImage(JLabel label, String imagePath, int width, int height) {
+        // Show a placeholder straight away; the thumbnail service decodes and scales off the EDT
+        label.setIcon(new PlaceholderIcon(width, height));
+        thumbnails.request(imagePath, width, height, image -> {
+            if (image != null) {
+                // Set the scaled image as the icon for the label
+                label.setIcon(new ImageIcon(image));
+            } else {
+                // Display a fallback message on the label when the image cannot be loaded
+                label.setIcon(null);
+                label.setText("Image not found");
+                // Center-align the text in the label
+                label.setHorizontalAlignment(SwingConstants.CENTER);
+                label.setVerticalAlignment(SwingConstants.CENTER);
+            }
+        });
+    }
+
+    // Light grey box shown in place of an image until its thumbnail has been decoded
+    private static class PlaceholderIcon implements Icon {
+        private final int width; // Width of the image being waited for
+        private final int height; // Height of the image being waited for
+
+        PlaceholderIcon(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            g.setColor(new Color(230, 230, 230));
+            g.fillRect(x, y, width, height);
+        }
+
+        @Override
+        public int getIconWidth() { return width; }
+
+        @Override
+        public int getIconHeight() { return height; }
+    }
+
+    private void showRecipeDetails(Recipe recipe) {
+        long start = System.nanoTime();
+        // Create a new frame to display recipe details
+        JFrame detailsFrame = new JFrame(recipe.getName());
+        // Set the size of the details window
+        detailsFrame.setSize(600, 700);
+        // Use a BorderLayout for organizing components
+        detailsFrame.setLayout(new BorderLayout());
+        // Allow the window to be closed independently of the main application
+        detailsFrame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+
+        // Header Panel: Displays the recipe title
+        JPanel headerPanel = new JPanel(new BorderLayout());
+        headerPanel.setBackground(new Color(34, 45, 50));  // Set a dark blue-grey background
+        JLabel titleLabel = new JLabel(recipe.getName(), SwingConstants.CENTER);
+        titleLabel.setFont(new Font("Segoe UI", Font.BOLD, 28));  // Use a bold, modern font
+        titleLabel.setForeground(Color.WHITE);  // Set the text color to white
+        headerPanel.add(titleLabel, BorderLayout.CENTER);
+        detailsFrame.add(headerPanel, BorderLayout.NORTH);  // Add the title panel to the top of the frame
+
+        // Image Panel: Displays the recipe image
+        JPanel imagePanel = new JPanel(new BorderLayout());
+        imagePanel.setBackground(new Color(245, 245, 245));  // Light grey background for the image section
+        JLabel imageLabel = new JLabel();
+        // Load the image scaled to 400x400 pixels through the same thumbnail cache as the recipe cards
+        loadImage(imageLabel, recipe.getImagePath(), 400, 400);
+        imagePanel.add(imageLabel, BorderLayout.CENTER);
+        detailsFrame.add(imagePanel, BorderLayout.CENTER);  // Add the image panel to the center of the frame
+
+        // Details Panel: Displays text details about the recipe
+        JPanel detailsPanel = new JPanel();
+        detailsPanel.setLayout(new BoxLayout(detailsPanel, BoxLayout.Y_AXIS));  // Arrange components vertically
+        detailsPanel.setBackground(Color.WHITE);  // Set a white background
+
+        JTextArea detailsArea = new JTextArea();
+        // Populate the text area with recipe details such as ingredients, instructions, and additional info
+        detailsArea.setText(
+                "Ingredients:\n" + recipe.getIngredients() + "\n\n" +
+                        "Instructions:\n" + recipe.getInstructions() + "\n\n" +
+                        "Cooking Time: " + recipe.getCookingTime() + " minutes\n" +
+                        "Preparation Time: " + recipe.getPrepTime() + " minutes\n" +
+                        "Difficulty: " + recipe.getDifficulty() + "\n" +
+                        "Cuisine: " + recipe.getCuisineType() + "\n" +
+                        "Dietary Preferences: " + recipe.getDietaryPreferences()
+        );
+        detailsArea.setFont(new Font("Segoe UI", Font.PLAIN, 16));  // Use a readable font
+        detailsArea.setLineWrap(true);  // Enable line wrapping for long text
+        detailsArea.setWrapStyleWord(true);  // Wrap lines at word boundaries
+        detailsArea.setEditable(false);  // Make the text area read-only
+        detailsArea.setCaretPosition(0);  // Ensure the view starts at the top
+        detailsArea.setBackground(Color.WHITE);  // Match the background with the panel
+
+        JScrollPane detailsScrollPane = new JScrollPane(detailsArea);
+        detailsScrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_AS_NEEDED);  // Add a vertical scrollbar if needed
+        detailsPanel.add(detailsScrollPane);  // Add the scroll pane to the details panel
+
+        // Add the details panel to the bottom of the frame
+        detailsFrame.add(detailsPanel, BorderLayout.SOUTH);
+
+        // Make the details window visible
+        detailsFrame.setVisible(true);
+        Metrics.DETAILS_OPEN.recordSince(start);
+    }
+
+    public static void main(String[] args) {
+        EdtMonitor.install(); // Times every EDT event, so UI stalls show up in the metrics
+        // Launch the RecipeGUI application using the SwingUtilities thread
+        SwingUtilities.invokeLater(RecipeGUI::new);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,230 @@
+package cookbook;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Process-wide counters and latency histograms for search, rendering and image loading, plus the JFR events
+// emitted alongside them. Recording into the histograms and counters never locks or allocates; each search,
+// thumbnail load and EDT event does allocate one small JFR event object, which is only committed while a
+// recording runs. Read the numbers with report(), over JMX as cookbook:type=Metrics, from the diagnostics window
+// (Ctrl+Shift+D) or from the search service's /metrics.
+final class Metrics {
+    static final String MBEAN_NAME = "cookbook:type=Metrics";
+    static final long EDT_STALL_NANOS = 100_000_000L; // EDT events running longer than this count as stalls
+
+    static final LatencyHistogram SEARCH = new LatencyHistogram("search", "ns"); // Matching and ranking one query
+    static final LatencyHistogram SEARCH_RESULTS = new LatencyHistogram("search.results", ""); // Matches per query
+    static final LatencyHistogram RESULTS_UPDATE = new LatencyHistogram("results.update", "ns"); // Swapping results into the list
+    static final LatencyHistogram CARD_RENDER = new LatencyHistogram("card.render", "ns"); // Preparing one card for painting
+    static final LatencyHistogram IMAGE_DECODE = new LatencyHistogram("image.decode", "ns"); // Decoding and scaling one thumbnail
+    static final LatencyHistogram DETAILS_OPEN = new LatencyHistogram("details.open", "ns"); // Building a details window
+    static final LatencyHistogram EDT_EVENT = new LatencyHistogram("edt.event", "ns"); // Dispatching one EDT event
+    static final LatencyHistogram HTTP_REQUEST = new LatencyHistogram("http.request", "ns"); // Answering one HTTP request
+
+    static final LongAdder SEARCHES_CANCELLED = new LongAdder(); // Superseded by newer input before finishing
+    static final LongAdder SEARCHES_CORRECTED = new LongAdder(); // Answered with the spelling correction
+    static final LongAdder THUMBNAIL_MEMORY_HITS = new LongAdder(); // Requests served from the in-memory LRU
+    static final LongAdder THUMBNAIL_DISK_HITS = new LongAdder(); // Read back from the disk cache
+    static final LongAdder THUMBNAIL_DECODES = new LongAdder(); // Decoded from the original image
+    static final LongAdder THUMBNAIL_FAILURES = new LongAdder(); // Image missing or unreadable
+    static final LongAdder THUMBNAIL_DROPS = new LongAdder(); // Requests dropped from a full decode queue
+    static final LongAdder THUMBNAIL_CACHE_WRITE_FAILURES = new LongAdder(); // Thumbnails not written to the disk cache
+    static final LongAdder EDT_STALLS = new LongAdder(); // EDT events longer than EDT_STALL_NANOS
+    static final LongAdder EDT_STALL_NANOS_TOTAL = new LongAdder(); // Time the EDT spent in those events
+
+    private static final List<LatencyHistogram> HISTOGRAMS = List.of(SEARCH, SEARCH_RESULTS, RESULTS_UPDATE,
+            CARD_RENDER, IMAGE_DECODE, DETAILS_OPEN, EDT_EVENT, HTTP_REQUEST);
+    private static final Map<String, LongAdder> COUNTERS = new LinkedHashMap<>();
+    private static boolean registered; // Whether the MBean is registered, guarded by the class
+
+    static {
+        COUNTERS.put("search.cancelled", SEARCHES_CANCELLED);
+        COUNTERS.put("search.corrected", SEARCHES_CORRECTED);
+        COUNTERS.put("thumbnail.memoryHits", THUMBNAIL_MEMORY_HITS);
+        COUNTERS.put("thumbnail.diskHits", THUMBNAIL_DISK_HITS);
+        COUNTERS.put("thumbnail.decodes", THUMBNAIL_DECODES);
+        COUNTERS.put("thumbnail.failures", THUMBNAIL_FAILURES);
+        COUNTERS.put("thumbnail.drops", THUMBNAIL_DROPS);
+        COUNTERS.put("thumbnail.cacheWriteFailures", THUMBNAIL_CACHE_WRITE_FAILURES);
+        COUNTERS.put("edt.stalls", EDT_STALLS);
+        COUNTERS.put("edt.stallNanos", EDT_STALL_NANOS_TOTAL);
+    }
+
+    private Metrics() {
+    }
+
+    // Registers the MXBean with the platform MBean server, once per process
+    static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(new Bean(), MetricsMXBean.class, true), new ObjectName(MBEAN_NAME));
+            registered = true;
+        } catch (JMException e) {
+            System.out.println("Could not register " + MBEAN_NAME + ": " + e); // Metrics still work, just not over JMX
+        }
+    }
+
+    // Share of thumbnail requests answered from a cache, or NaN before the first one
+    static double thumbnailHitRate() {
+        double hits = THUMBNAIL_MEMORY_HITS.sum() + THUMBNAIL_DISK_HITS.sum();
+        double total = hits + THUMBNAIL_DECODES.sum() + THUMBNAIL_FAILURES.sum();
+        return total == 0 ? Double.NaN : hits / total;
+    }
+
+    // Plain-text dump: one line per histogram with count, mean, percentiles and max, then the counters
+    static String report() {
+        StringBuilder text = new StringBuilder();
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+            text.append(String.format(Locale.ROOT, "%-16s count %,10d  mean %s  p50 %s  p90 %s  p99 %s  p99.9 %s  max %s%n",
+                    histogram.getName(), snapshot.getCount(), format(snapshot.getMean(), histogram),
+                    format(snapshot.percentile(0.50), histogram), format(snapshot.percentile(0.90), histogram),
+                    format(snapshot.percentile(0.99), histogram), format(snapshot.percentile(0.999), histogram),
+                    format(snapshot.getMax(), histogram)));
+        }
+        for (Map.Entry<String, LongAdder> counter : COUNTERS.entrySet()) {
+            text.append(String.format(Locale.ROOT, "%-20s %,d%n", counter.getKey(), counter.getValue().sum()));
+        }
+        text.append(String.format(Locale.ROOT, "%-20s %.1f%%%n", "thumbnail.hitRate", 100 * thumbnailHitRate()));
+        return text.toString();
+    }
+
+    // Zeroes every histogram and counter, e.g. before reproducing a slowdown
+    static void reset() {
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            histogram.reset();
+        }
+        for (LongAdder counter : COUNTERS.values()) {
+            counter.reset();
+        }
+    }
+
+    // Milliseconds with two decimals for latencies, the plain number for counts
+    private static String format(double value, LatencyHistogram histogram) {
+        return histogram.getUnit().equals("ns")
+                ? String.format(Locale.ROOT, "%9.2f ms", value / 1e6)
+                : String.format(Locale.ROOT, "%9.0f", value);
+    }
+
+    // One query matched and ranked, by the desktop app or the search service
+    @Name("cookbook.Search")
+    @Label("Recipe Search")
+    @Category("CookBook")
+    static final class SearchEvent extends Event {
+        @Label("Keywords")
+        String keywords;
+        @Label("Sort Order")
+        String sort;
+        @Label("Matches")
+        int matches;
+        @Label("Spelling Corrected")
+        boolean corrected;
+
+        private final transient long startNanos = System.nanoTime(); // Transient fields are not recorded by JFR
+
+        SearchEvent() {
+            begin();
+        }
+
+        // Records the finished query in the histograms and, when JFR is recording, as this event
+        void finish(SearchQuery query, int matches, boolean corrected) {
+            end();
+            SEARCH.recordSince(startNanos);
+            SEARCH_RESULTS.record(matches);
+            if (corrected) {
+                SEARCHES_CORRECTED.increment();
+            }
+            if (shouldCommit()) {
+                this.keywords = String.join(", ", query.getKeywords());
+                this.sort = query.getSort().name();
+                this.matches = matches;
+                this.corrected = corrected;
+                commit();
+            }
+        }
+    }
+
+    // One thumbnail produced off the EDT, from the disk cache or by decoding the original
+    @Name("cookbook.ThumbnailLoad")
+    @Label("Thumbnail Load")
+    @Category("CookBook")
+    static final class ThumbnailEvent extends Event {
+        @Label("Image Path")
+        String imagePath;
+        @Label("Width")
+        int width;
+        @Label("Height")
+        int height;
+        @Label("Source")
+        String source; // "disk cache", "decoded" or "failed"
+    }
+
+    // An EDT event that ran long enough to freeze the UI; only events over the threshold are recorded
+    @Name("cookbook.EdtStall")
+    @Label("EDT Stall")
+    @Category("CookBook")
+    @Threshold("100 ms")
+    static final class EdtStallEvent extends Event {
+        @Label("Event Type")
+        String eventType;
+    }
+
+    // JMX view of the metrics
+    private static final class Bean implements MetricsMXBean {
+        @Override
+        public String getReport() {
+            return report();
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> counters = new LinkedHashMap<>();
+            for (Map.Entry<String, LongAdder> counter : COUNTERS.entrySet()) {
+                counters.put(counter.getKey(), counter.getValue().sum());
+            }
+            for (LatencyHistogram histogram : HISTOGRAMS) {
+                counters.put(histogram.getName() + ".count", histogram.snapshot().getCount());
+            }
+            return counters;
+        }
+
+        @Override
+        public Map<String, Double> getPercentiles() {
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            for (LatencyHistogram histogram : HISTOGRAMS) {
+                LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+                double scale = histogram.getUnit().equals("ns") ? 1e6 : 1; // Latencies in milliseconds
+                percentiles.put(histogram.getName() + ".p50", snapshot.percentile(0.50) / scale);
+                percentiles.put(histogram.getName() + ".p99", snapshot.percentile(0.99) / scale);
+                percentiles.put(histogram.getName() + ".max", snapshot.getMax() / scale);
+            }
+            return percentiles;
+        }
+
+        @Override
+        public double getThumbnailHitRate() {
+            return thumbnailHitRate();
+        }
+
+        @Override
+        public void reset() {
+            Metrics.reset();
+        }
+    }
+}
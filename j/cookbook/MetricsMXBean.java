@@ -0,0 +1,21 @@
+package cookbook;
+
+import java.util.Map;
+
+// JMX interface of Metrics, registered as cookbook:type=Metrics; JMX requires it to be public
+public interface MetricsMXBean {
+    // The same plain-text dump as Metrics.report()
+    String getReport();
+
+    // Counter values and the number of values in each histogram
+    Map<String, Long> getCounters();
+
+    // p50, p99 and max of each histogram, latencies in milliseconds
+    Map<String, Double> getPercentiles();
+
+    // Share of thumbnail requests answered from the memory or disk cache
+    double getThumbnailHitRate();
+
+    // Zeroes every histogram and counter
+    void reset();
+}
@@ -0,0 +1,65 @@
+package cookbook;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Ingredients the user already has, resolved once to ids into Recipe.INGREDIENTS. Names no recipe uses are
+// kept aside, so they can be shown back to the user instead of silently ignored.
+class Pantry {
+    static final Pantry EMPTY = new Pantry(new int[0], List.of());
+
+    private final int[] ingredientIds; // Distinct ingredient ids, ascending
+    private final List<String> unknown; // Names that matched no ingredient, as typed
+
+    private Pantry(int[] ingredientIds, List<String> unknown) {
+        this.ingredientIds = ingredientIds;
+        this.unknown = unknown;
+    }
+
+    // Parses ingredient names separated by commas or new lines; matching ignores case like the dictionary does
+    public static Pantry parse(String text) {
+        String[] names = text.trim().split("\\s*[,\\n]\\s*");
+        int[] ids = new int[names.length];
+        int count = 0;
+        List<String> unknown = new ArrayList<>();
+        for (String name : names) {
+            if (name.isEmpty()) {
+                continue;
+            }
+            int id = Recipe.INGREDIENTS.idOf(name);
+            if (id >= 0) {
+                ids[count++] = id;
+            } else {
+                unknown.add(name);
+            }
+        }
+        int[] distinct = Arrays.stream(ids, 0, count).sorted().distinct().toArray();
+        return new Pantry(distinct, List.copyOf(unknown));
+    }
+
+    // Distinct ingredient ids, ascending; callers must not modify the array
+    public int[] getIngredientIds() { return ingredientIds; }
+    public List<String> getUnknown() { return unknown; }
+
+    public boolean contains(int ingredientId) {
+        return Arrays.binarySearch(ingredientIds, ingredientId) >= 0;
+    }
+
+    public boolean isEmpty() {
+        return ingredientIds.length == 0;
+    }
+
+    // Display form of the ingredients, comma-separated in dictionary order
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int id : ingredientIds) {
+            if (text.length() > 0) {
+                text.append(", ");
+            }
+            text.append(Recipe.INGREDIENTS.valueOf(id));
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,121 @@
+package cookbook;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+// "What can I cook?" window: the user lists the ingredients they have and how many they are willing to buy, and the
+// recipes that fit are shown in the main list, those missing fewest first. The query runs off the EDT on the
+// current catalogue snapshot; the pantry is remembered so shopping lists leave its ingredients out.
+class PantryDialog {
+    private static final int MAX_MISSING = 5; // Most ingredients the spinner lets the user be short of
+
+    private final JDialog dialog;
+    private final JTextArea ingredientsArea = new JTextArea(8, 30);
+    private final JSpinner missingSpinner = new JSpinner(new SpinnerNumberModel(0, 0, MAX_MISSING, 1));
+    private final JButton findButton = new JButton("Find Recipes");
+    private final JLabel statusLabel = new JLabel(" ");
+    private final Supplier<RecipeSearcher> snapshot; // Current catalogue snapshot
+    private final Supplier<SortOrder> sortOrder; // Order of recipes missing the same number of ingredients
+    private final BiConsumer<Pantry, List<Recipe>> showResults; // Called on the EDT with the pantry and its recipes
+    private Pantry pantry = Pantry.EMPTY; // Last pantry searched for
+
+    public PantryDialog(JFrame owner, Supplier<RecipeSearcher> snapshot, Supplier<SortOrder> sortOrder,
+                        BiConsumer<Pantry, List<Recipe>> showResults) {
+        this.snapshot = snapshot;
+        this.sortOrder = sortOrder;
+        this.showResults = showResults;
+        dialog = new JDialog(owner, "Pantry", false); // Modeless, so the results can be browsed next to it
+        ingredientsArea.setLineWrap(true);
+        ingredientsArea.setWrapStyleWord(true);
+        findButton.addActionListener(e -> find());
+
+        JPanel options = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        options.add(new JLabel("Missing at most:"));
+        options.add(missingSpinner);
+        options.add(new JLabel("ingredients"));
+        options.add(findButton);
+
+        JPanel bottom = new JPanel(new BorderLayout());
+        bottom.add(options, BorderLayout.NORTH);
+        bottom.add(statusLabel, BorderLayout.SOUTH);
+
+        dialog.add(new JLabel(" Ingredients you have, separated by commas or new lines:"), BorderLayout.NORTH);
+        dialog.add(new JScrollPane(ingredientsArea), BorderLayout.CENTER);
+        dialog.add(bottom, BorderLayout.SOUTH);
+        dialog.pack();
+        dialog.setLocationRelativeTo(owner);
+    }
+
+    // Shows the window, or brings it to the front if it is already open
+    public void show() {
+        dialog.setVisible(true);
+        dialog.toFront();
+    }
+
+    // Pantry of the last search, empty until the user searches
+    public Pantry getPantry() {
+        return pantry;
+    }
+
+    private void find() {
+        Pantry requested = Pantry.parse(ingredientsArea.getText());
+        int maxMissing = (Integer) missingSpinner.getValue();
+        SortOrder order = sortOrder.get();
+        findButton.setEnabled(false);
+        statusLabel.setText("Searching...");
+        new SwingWorker<int[][], Void>() {
+            private RecipeSearcher searcher; // Snapshot the ids refer to
+
+            @Override
+            protected int[][] doInBackground() {
+                searcher = snapshot.get();
+                return searcher.pantry(requested, maxMissing, order);
+            }
+
+            @Override
+            protected void done() {
+                findButton.setEnabled(true);
+                int[][] byMissing;
+                try {
+                    byMissing = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    statusLabel.setText("Search failed: " + e.getCause());
+                    return;
+                }
+                pantry = requested;
+                int total = 0;
+                for (int[] ids : byMissing) {
+                    total += ids.length;
+                }
+                int[] allIds = new int[total]; // Fewest missing first
+                int count = 0;
+                for (int[] ids : byMissing) {
+                    System.arraycopy(ids, 0, allIds, count, ids.length);
+                    count += ids.length;
+                }
+                statusLabel.setText(summary(requested, byMissing));
+                showResults.accept(requested, searcher.recipes(allIds)); // Resolved as rows scroll into view
+            }
+        }.execute();
+    }
+
+    // E.g. "12 with everything, 40 missing 1. Unknown: saffron"
+    private static String summary(Pantry pantry, int[][] byMissing) {
+        StringBuilder text = new StringBuilder();
+        for (int missing = 0; missing < byMissing.length; missing++) {
+            if (missing > 0) {
+                text.append(", ");
+            }
+            text.append(String.format("%,d", byMissing[missing].length))
+                    .append(missing == 0 ? " with everything" : " missing " + missing);
+        }
+        if (!pantry.getUnknown().isEmpty()) {
+            text.append(". Unknown: ").append(String.join(", ", pantry.getUnknown()));
+        }
+        return text.toString();
+    }
+}
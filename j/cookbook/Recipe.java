@@ -0,0 +1,148 @@
+package cookbook;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+// Recipe class to store details about each recipe.
+// Ingredients, cuisine and dietary tags are stored as ids into shared dictionaries, so repeated values such as
+// "Olive Oil" or "Gluten-Free" exist once no matter how many recipes use them. A recipe that spells a value
+// differently from the dictionary (e.g. "butter" against "Butter") keeps its own text for display.
+class Recipe {
+    static final TermDictionary INGREDIENTS = new TermDictionary(1 << 20); // Shared ingredient names
+    static final TermDictionary CUISINES = new TermDictionary(Short.MAX_VALUE + 1); // Shared cuisine types; binary files store them as shorts
+    static final TermDictionary DIETARY_TAGS = new TermDictionary(1 << 12); // Shared dietary preference tags
+
+    private final String name; // Name of the recipe
+    private final int[] ingredientIds; // Ingredients used in the recipe, as ids into INGREDIENTS
+    private final String instructions; // Instructions to prepare the recipe, null when loaded on demand
+    private final Supplier<String> instructionsLoader; // Reads the instructions on demand, null when already held
+    private final int cookingTime; // Time required to cook the recipe
+    private final String imagePath; // Path to the recipe's image
+    private final Difficulty difficulty; // Difficulty level of the recipe
+    private final int prepTime; // Preparation time for the recipe
+    private final int cuisineId; // Type of cuisine (e.g., Italian, Indian), as an id into CUISINES
+    private final int[] dietaryIds; // Dietary preferences (e.g., Vegan, Gluten-Free), as ids into DIETARY_TAGS
+    private final String[] spelling; // Ingredients, cuisine and dietary text as given, null when the dictionaries spell them the same
+
+    // Constructor to initialize the Recipe object; ingredients and dietary preferences are comma-separated lists
+    public Recipe(String name, String ingredients, String instructions, int cookingTime, String imagePath,
+                  String difficulty, int prepTime, String cuisineType, String dietaryPreferences) {
+        this(name, ingredients, instructions, null, cookingTime, imagePath, difficulty, prepTime, cuisineType, dietaryPreferences);
+    }
+
+    // Constructor for recipes whose long instructions text is only read when getInstructions() is called
+    public Recipe(String name, String ingredients, Supplier<String> instructionsLoader, int cookingTime, String imagePath,
+                  String difficulty, int prepTime, String cuisineType, String dietaryPreferences) {
+        this(name, ingredients, null, instructionsLoader, cookingTime, imagePath, difficulty, prepTime, cuisineType, dietaryPreferences);
+    }
+
+    private Recipe(String name, String ingredients, String instructions, Supplier<String> instructionsLoader,
+                   int cookingTime, String imagePath, String difficulty, int prepTime, String cuisineType,
+                   String dietaryPreferences) {
+        this(name, internAll(INGREDIENTS, ingredients), instructions, instructionsLoader, cookingTime, imagePath,
+                Difficulty.fromLabel(difficulty), prepTime, CUISINES.intern(cuisineType),
+                internAll(DIETARY_TAGS, dietaryPreferences), spelling(ingredients, cuisineType, dietaryPreferences));
+    }
+
+    // Constructor for recipes stored as dictionary ids, e.g. by a binary catalogue, so nothing is interned again;
+    // the arrays are kept, not copied. spelling is the ingredients, cuisine and dietary text when it differs from
+    // the dictionaries, otherwise null
+    Recipe(String name, int[] ingredientIds, Supplier<String> instructionsLoader, int cookingTime, String imagePath,
+           Difficulty difficulty, int prepTime, int cuisineId, int[] dietaryIds, String[] spelling) {
+        this(name, ingredientIds, null, instructionsLoader, cookingTime, imagePath, difficulty, prepTime, cuisineId,
+                dietaryIds, spelling);
+    }
+
+    private Recipe(String name, int[] ingredientIds, String instructions, Supplier<String> instructionsLoader,
+                   int cookingTime, String imagePath, Difficulty difficulty, int prepTime, int cuisineId,
+                   int[] dietaryIds, String[] spelling) {
+        this.name = name;
+        this.ingredientIds = ingredientIds;
+        this.instructions = instructions;
+        this.instructionsLoader = instructionsLoader;
+        this.cookingTime = cookingTime;
+        this.imagePath = imagePath;
+        this.difficulty = difficulty;
+        this.prepTime = prepTime;
+        this.cuisineId = cuisineId;
+        this.dietaryIds = dietaryIds;
+        this.spelling = spelling;
+    }
+
+    // Getter methods for accessing recipe properties
+    public String getName() { return name; }
+    public String getInstructions() { return instructions != null ? instructions : instructionsLoader.get(); }
+    public int getCookingTime() { return cookingTime; }
+    public String getImagePath() { return imagePath; }
+    public Difficulty getDifficultyLevel() { return difficulty; }
+    public int getPrepTime() { return prepTime; }
+    public int getCuisineId() { return cuisineId; }
+
+    // Ingredient ids in the order they were listed; callers must not modify the array
+    public int[] getIngredientIds() { return ingredientIds; }
+
+    // Dietary tag ids, e.g. both "Vegan" and "Gluten-Free"; callers must not modify the array
+    public int[] getDietaryIds() { return dietaryIds; }
+
+    // Compatibility views rebuilding the original text values, as the recipe spelled them
+    public String getIngredients() { return spelling != null ? spelling[0] : joinAll(INGREDIENTS, ingredientIds); }
+    public String getDifficulty() { return difficulty.getLabel(); }
+    public String getCuisineType() { return spelling != null ? spelling[1] : CUISINES.valueOf(cuisineId); }
+    public String getDietaryPreferences() { return spelling != null ? spelling[2] : joinAll(DIETARY_TAGS, dietaryIds); }
+
+    // Ingredient and dietary names as the recipe spelled them, one per id
+    public String[] getIngredientNames() { return names(getIngredients(), ingredientIds.length); }
+    public String[] getDietaryNames() { return names(getDietaryPreferences(), dietaryIds.length); }
+
+    // Splits a comma-separated list and interns each entry, skipping empty entries
+    private static int[] internAll(TermDictionary dictionary, String list) {
+        String[] terms = list.trim().split("\\s*,\\s*");
+        int[] ids = new int[terms.length];
+        int count = 0;
+        for (String term : terms) {
+            if (!term.isEmpty()) {
+                ids[count++] = dictionary.intern(term);
+            }
+        }
+        return count == ids.length ? ids : Arrays.copyOf(ids, count);
+    }
+
+    // The text of each field as given, or null when every term is already spelled as in the dictionaries.
+    // Called after the terms were interned, so every lookup finds its id
+    private static String[] spelling(String ingredients, String cuisineType, String dietaryPreferences) {
+        String[] given = {normalize(ingredients), cuisineType.trim(), normalize(dietaryPreferences)};
+        boolean same = given[0].equals(joinAll(INGREDIENTS, internAll(INGREDIENTS, given[0])))
+                && given[1].equals(CUISINES.valueOf(CUISINES.idOf(given[1])))
+                && given[2].equals(joinAll(DIETARY_TAGS, internAll(DIETARY_TAGS, given[2])));
+        return same ? null : given;
+    }
+
+    // A comma-separated list with surrounding whitespace and empty entries dropped, joined as joinAll does
+    private static String normalize(String list) {
+        StringBuilder joined = new StringBuilder();
+        for (String term : list.trim().split("\\s*,\\s*")) {
+            if (!term.isEmpty()) {
+                if (joined.length() > 0) {
+                    joined.append(", ");
+                }
+                joined.append(term);
+            }
+        }
+        return joined.toString();
+    }
+
+    private static String[] names(String list, int count) {
+        return count == 0 ? new String[0] : list.split(", ");
+    }
+
+    private static String joinAll(TermDictionary dictionary, int[] ids) {
+        StringBuilder joined = new StringBuilder();
+        for (int id : ids) {
+            if (joined.length() > 0) {
+                joined.append(", ");
+            }
+            joined.append(dictionary.valueOf(id));
+        }
+        return joined.toString();
+    }
+}
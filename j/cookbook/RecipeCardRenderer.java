@@ -0,0 +1,127 @@
+package cookbook;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Paints every row of the recipe list with one recycled card, so only visible rows ever cost anything
+class RecipeCardRenderer implements ListCellRenderer<Recipe> {
+    static final int CARD_HEIGHT = 180; // Fixed row height, which lets the list skip measuring rows
+    static final int IMAGE_SIZE = 150; // Width and height of the card thumbnail
+
+    private final ThumbnailService thumbnails; // Source of the card thumbnails
+    private final JPanel card = new JPanel(new BorderLayout()); // Card reused for every row
+    private final ThumbnailIcon imageIcon = new ThumbnailIcon(); // Icon reused for every row's image
+    private final JLabel imageLabel = new JLabel(imageIcon);
+    private final JLabel nameLabel = new JLabel("", SwingConstants.LEFT);
+    private final JTextArea ingredientsArea = new JTextArea();
+    private final JButton viewButton = new JButton("View Details");
+    private final JPanel textPanel = new JPanel(new BorderLayout());
+
+    public RecipeCardRenderer(ThumbnailService thumbnails) {
+        this.thumbnails = thumbnails;
+
+        card.setBorder(BorderFactory.createLineBorder(new Color(200, 200, 200), 1)); // Adds a subtle border
+
+        // Image section for the recipe card
+        imageLabel.setPreferredSize(new Dimension(IMAGE_SIZE, IMAGE_SIZE)); // Sets consistent image size
+        imageLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        imageLabel.setVerticalAlignment(SwingConstants.CENTER);
+        JPanel imagePanel = new JPanel(new BorderLayout());
+        imagePanel.setPreferredSize(new Dimension(160, 160)); // Defines image panel dimensions
+        imagePanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10)); // Adds padding around the image
+        imagePanel.add(imageLabel, BorderLayout.CENTER);
+
+        // Text section for the recipe card
+        nameLabel.setFont(new Font("Arial", Font.BOLD, 16)); // Sets font for the name label
+        nameLabel.setBorder(BorderFactory.createEmptyBorder(10, 10, 0, 10)); // Adds padding around the name label
+
+        ingredientsArea.setLineWrap(true); // Enables line wrapping for long text
+        ingredientsArea.setWrapStyleWord(true); // Wraps text by word
+        ingredientsArea.setEditable(false); // Makes the text area non-editable
+        ingredientsArea.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10)); // Adds padding for readability
+        ingredientsArea.setBackground(new Color(245, 245, 245)); // Light gray background for better visibility
+
+        viewButton.setFont(new Font("Arial", Font.BOLD, 14)); // Sets font for the button
+        viewButton.setForeground(Color.WHITE); // Sets text color to white
+        viewButton.setBackground(new Color(255, 80, 80)); // Sets button color to a prominent red
+
+        textPanel.add(nameLabel, BorderLayout.NORTH);
+        textPanel.add(ingredientsArea, BorderLayout.CENTER);
+        textPanel.add(viewButton, BorderLayout.SOUTH);
+
+        card.add(imagePanel, BorderLayout.WEST); // Places the image section on the left
+        card.add(textPanel, BorderLayout.CENTER); // Places the text section in the center
+    }
+
+    @Override
+    public Component getListCellRendererComponent(JList<? extends Recipe> list, Recipe recipe, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        long start = System.nanoTime();
+        nameLabel.setText(recipe.getName());
+        ingredientsArea.setText("Ingredients: " + recipe.getIngredients());
+        card.setBackground(isSelected ? new Color(255, 235, 235) : Color.WHITE); // Tint selected cards
+
+        // Use the cached thumbnail when there is one, otherwise ask for it and repaint this row when it arrives
+        BufferedImage image = thumbnails.getCached(recipe.getImagePath(), IMAGE_SIZE, IMAGE_SIZE);
+        boolean missing = image == null && thumbnails.hasFailed(recipe.getImagePath(), IMAGE_SIZE, IMAGE_SIZE);
+        if (image == null && !missing) {
+            thumbnails.request(recipe.getImagePath(), IMAGE_SIZE, IMAGE_SIZE, loaded -> repaintRow(list, index, recipe));
+        }
+        imageIcon.image = image;
+        imageLabel.setIcon(missing ? null : imageIcon);
+        imageLabel.setText(missing ? "Image not found" : null);
+        Metrics.CARD_RENDER.recordSince(start);
+        return card;
+    }
+
+    // Returns where the View Details button sits inside a cell of the given size
+    public Rectangle viewButtonBounds(Dimension cellSize) {
+        card.setSize(cellSize);
+        layoutTree(card);
+        return SwingUtilities.convertRectangle(viewButton.getParent(), viewButton.getBounds(), card);
+    }
+
+    // Lays out a component tree that is not showing, as the list only sizes the card while painting
+    private static void layoutTree(Container container) {
+        container.doLayout();
+        for (Component child : container.getComponents()) {
+            if (child instanceof Container) {
+                layoutTree((Container) child);
+            }
+        }
+    }
+
+    // Repaints a row once its thumbnail is ready, unless the list has moved on to a row with another image meanwhile.
+    // Rows are compared by image path, not identity, as a repository may decode a new Recipe for every lookup.
+    private static void repaintRow(JList<? extends Recipe> list, int index, Recipe recipe) {
+        ListModel<? extends Recipe> model = list.getModel();
+        if (index < model.getSize() && model.getElementAt(index).getImagePath().equals(recipe.getImagePath())) {
+            Rectangle bounds = list.getCellBounds(index, index);
+            if (bounds != null) {
+                list.repaint(bounds);
+            }
+        }
+    }
+
+    // Draws the current row's thumbnail, or a light grey placeholder while it is still loading
+    private static class ThumbnailIcon implements Icon {
+        private BufferedImage image; // Thumbnail of the row being painted, null while loading
+
+        @Override
+        public void paintIcon(Component c, Graphics g, int x, int y) {
+            if (image != null) {
+                g.drawImage(image, x, y, null);
+            } else {
+                g.setColor(new Color(230, 230, 230));
+                g.fillRect(x, y, IMAGE_SIZE, IMAGE_SIZE);
+            }
+        }
+
+        @Override
+        public int getIconWidth() { return IMAGE_SIZE; }
+
+        @Override
+        public int getIconHeight() { return IMAGE_SIZE; }
+    }
+}
@@ -0,0 +1,124 @@
+package cookbook;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+// The recipe catalogue and its search engine, independent of any UI; shared by RecipeGUI and RecipeSearchServer.
+// Readers work on an immutable snapshot without locking; edits are serialized and each publishes a new snapshot
+// atomically, so a search never sees half an edit and never waits for one.
+class RecipeCatalogue {
+    static final String CATALOGUE_PROPERTY = "cookbook.catalogue"; // System property naming the catalogue file
+    static final String DEFAULT_CATALOGUE = "j/recipes.json"; // Catalogue used when the property is not set
+
+    private final AtomicReference<RecipeSearcher> snapshot; // Current catalogue with its index, facets and ranking
+
+    // Indexes the given recipes once so searches avoid full scans; a recipe's id starts as its position in the list
+    public RecipeCatalogue(List<Recipe> recipes) {
+        this(recipes, true);
+    }
+
+    // Same, ranking on names and ingredients only unless rankInstructions is set
+    public RecipeCatalogue(List<Recipe> recipes, boolean rankInstructions) {
+        this.snapshot = new AtomicReference<>(new RecipeSearcher(recipes, rankInstructions));
+    }
+
+    // Opens a catalogue file (JSON, CSV or binary .rcb) and indexes it
+    public static RecipeCatalogue open(Path path) throws IOException {
+        RecipeRepository repository = RecipeRepository.open(path);
+        // Binary catalogues stay mapped and are decoded per recipe, leaving the instructions on disk
+        return new RecipeCatalogue(repository.asList(), repository.holdsInstructions());
+    }
+
+    // The catalogue file named by the cookbook.catalogue property, j/recipes.json by default
+    public static Path configuredPath() {
+        return Paths.get(System.getProperty(CATALOGUE_PROPERTY, DEFAULT_CATALOGUE));
+    }
+
+    // The current snapshot; use one snapshot for a search and for resolving its result ids
+    public RecipeSearcher snapshot() {
+        return snapshot.get();
+    }
+
+    // Number of recipes in the current snapshot
+    public int size() {
+        return snapshot.get().size();
+    }
+
+    // Returns the recipe with the given id in the current snapshot, or null if there is none
+    public Recipe get(int id) {
+        return snapshot.get().get(id);
+    }
+
+    // Adds a recipe and returns its new id
+    public synchronized int add(Recipe recipe) {
+        RecipeSearcher current = snapshot.get();
+        snapshot.set(current.withAdded(recipe));
+        return current.nextId();
+    }
+
+    // Replaces the recipe with the given id; throws IllegalArgumentException if there is none
+    public synchronized void update(int id, Recipe recipe) {
+        snapshot.set(snapshot.get().withUpdated(id, recipe));
+    }
+
+    // Deletes the recipe with the given id; throws IllegalArgumentException if there is none
+    public synchronized void delete(int id) {
+        snapshot.set(snapshot.get().withDeleted(id));
+    }
+
+    // Stops the search threads; the catalogue must not be used afterwards
+    public void shutdown() {
+        snapshot.get().shutdown();
+    }
+
+    // Returns up to limit results of the query in its sort order, skipping the first offset.
+    // Relevance ranking only keeps the best offset + limit matches, so deep pages cost more than shallow ones.
+    // A query that matches nothing is retried with its spelling correction, if there is one.
+    public Page search(SearchQuery query, int offset, int limit) {
+        RecipeSearcher searcher = snapshot.get();
+        Metrics.SearchEvent event = new Metrics.SearchEvent();
+        int[] matches = searcher.search(query);
+        String[] suggestion = searcher.corrections(query.getKeywords());
+        boolean corrected = matches.length == 0 && suggestion != null;
+        if (corrected) {
+            query = query.withKeywords(suggestion);
+            matches = searcher.search(query);
+        }
+        int[] ranked = searcher.rank(query, matches, (int) Math.min(Integer.MAX_VALUE, (long) offset + limit));
+        int from = Math.min(offset, ranked.length);
+        int to = (int) Math.min(ranked.length, (long) offset + limit);
+        int[] ids = Arrays.copyOfRange(ranked, from, to);
+        event.finish(query, matches.length, corrected);
+        return new Page(matches.length, offset, ids, searcher.recipes(ids), suggestion, corrected);
+    }
+
+    // One page of search results
+    static final class Page {
+        private final int total; // Number of recipes matching the query
+        private final int offset; // Position of the first id in the full result list
+        private final int[] ids; // Recipe ids on this page, in result order
+        private final List<Recipe> recipes; // Recipe of each id, from the snapshot that was searched
+        private final String[] suggestion; // Spelling correction of the keywords, or null
+        private final boolean corrected; // Whether the results are for the suggestion, the keywords matching nothing
+
+        Page(int total, int offset, int[] ids, List<Recipe> recipes, String[] suggestion, boolean corrected) {
+            this.total = total;
+            this.offset = offset;
+            this.ids = ids;
+            this.recipes = recipes;
+            this.suggestion = suggestion;
+            this.corrected = corrected;
+        }
+
+        public int getTotal() { return total; }
+        public int getOffset() { return offset; }
+        public int[] getIds() { return ids.clone(); }
+        public List<Recipe> getRecipes() { return recipes; }
+        public String[] getSuggestion() { return suggestion == null ? null : suggestion.clone(); }
+        public boolean isCorrected() { return corrected; }
+    }
+}
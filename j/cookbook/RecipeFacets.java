@@ -0,0 +1,176 @@
+package cookbook;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+// Difficulty, cuisine and dietary facet bitmaps combined for the filter dropdowns
+class RecipeFacets {
+    static final String ALL = "All"; // Dropdown value that disables a filter
+
+    private final FacetIndex difficulty = new FacetIndex(); // Bitmaps per difficulty level, keyed by ordinal
+    private final FacetIndex cuisine = new FacetIndex(); // Bitmaps per cuisine id
+    private final FacetIndex dietary = new FacetIndex(); // Bitmaps per dietary tag id; a recipe can carry several
+    private int size; // Number of recipes indexed
+
+    // Indexes the given recipes; a recipe's id is its position in the list
+    public RecipeFacets(List<Recipe> recipes) {
+        for (int id = 0; id < recipes.size(); id++) {
+            add(id, recipes.get(id));
+        }
+    }
+
+    // Adds a recipe to every facet, updating the counts incrementally
+    private void add(int id, Recipe recipe) {
+        difficulty.add(id, recipe.getDifficultyLevel().ordinal());
+        cuisine.add(id, recipe.getCuisineId());
+        for (int tag : recipe.getDietaryIds()) {
+            dietary.add(id, tag);
+        }
+        size++;
+    }
+
+    // Returns the ids matching all selected values, or null when every filter is set to "All"
+    public BitSet filter(String selectedDifficulty, String selectedCuisine, String selectedDietary) {
+        BitSet result = null;
+        if (isSet(selectedDifficulty)) {
+            result = narrow(result, difficulty, difficultyId(selectedDifficulty));
+        }
+        if (isSet(selectedCuisine)) {
+            result = narrow(result, cuisine, Recipe.CUISINES.idOf(selectedCuisine));
+        }
+        if (isSet(selectedDietary)) {
+            result = narrow(result, dietary, Recipe.DIETARY_TAGS.idOf(selectedDietary));
+        }
+        return result;
+    }
+
+    public int difficultyCount(String value) {
+        return isSet(value) ? difficulty.count(difficultyId(value)) : size;
+    }
+
+    public int cuisineCount(String value) {
+        return isSet(value) ? cuisine.count(Recipe.CUISINES.idOf(value)) : size;
+    }
+
+    public int dietaryCount(String value) {
+        return isSet(value) ? dietary.count(Recipe.DIETARY_TAGS.idOf(value)) : size;
+    }
+
+    // Live counts of these recipes, to be summed over a snapshot's segments and adjusted as it is edited
+    public Counts counts() {
+        return new Counts(difficulty.counts(), cuisine.counts(), dietary.counts(), size);
+    }
+
+    private static boolean isSet(String selected) {
+        return selected != null && !ALL.equals(selected);
+    }
+
+    // Maps a difficulty label to its facet value, or -1 for labels that are not a difficulty
+    private static int difficultyId(String label) {
+        try {
+            return Difficulty.fromLabel(label).ordinal();
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+
+    // ANDs the bitmap of the selected value into result, copying first so the index bitmaps stay untouched
+    private static BitSet narrow(BitSet result, FacetIndex facet, int value) {
+        if (result == null) {
+            return (BitSet) facet.matching(value).clone();
+        }
+        result.and(facet.matching(value));
+        return result;
+    }
+
+    // Recipes per facet value in one catalogue snapshot, never modified once built. An edit copies the counts and
+    // adjusts them for the recipe it removes and the one it adds, so a dropdown reads a count without touching a
+    // bitmap however many recipes have been edited
+    static final class Counts {
+        private final int[] difficulty; // Recipes per difficulty ordinal
+        private final int[] cuisine; // Recipes per cuisine id
+        private final int[] dietary; // Recipes per dietary tag id
+        private final int size; // Number of recipes counted
+
+        private Counts(int[] difficulty, int[] cuisine, int[] dietary, int size) {
+            this.difficulty = difficulty;
+            this.cuisine = cuisine;
+            this.dietary = dietary;
+            this.size = size;
+        }
+
+        // Adds up the counts of disjoint sets of recipes, e.g. the segments of a snapshot
+        static Counts sum(List<Counts> parts) {
+            int[] difficulty = new int[0];
+            int[] cuisine = new int[0];
+            int[] dietary = new int[0];
+            int size = 0;
+            for (Counts part : parts) {
+                difficulty = plus(difficulty, part.difficulty);
+                cuisine = plus(cuisine, part.cuisine);
+                dietary = plus(dietary, part.dietary);
+                size += part.size;
+            }
+            return new Counts(difficulty, cuisine, dietary, size);
+        }
+
+        // Counts after removed is taken out and added put in; either may be null
+        Counts with(Recipe removed, Recipe added) {
+            int[] newDifficulty = difficulty.clone();
+            int[] newCuisine = cuisine.clone();
+            int[] newDietary = dietary.clone();
+            int newSize = size;
+            for (int sign = -1; sign <= 1; sign += 2) {
+                Recipe recipe = sign < 0 ? removed : added;
+                if (recipe == null) {
+                    continue;
+                }
+                newDifficulty = add(newDifficulty, recipe.getDifficultyLevel().ordinal(), sign);
+                newCuisine = add(newCuisine, recipe.getCuisineId(), sign);
+                int[] tags = recipe.getDietaryIds();
+                for (int i = 0; i < tags.length; i++) {
+                    if (!listedBefore(tags, i)) { // A tag listed twice is indexed once
+                        newDietary = add(newDietary, tags[i], sign);
+                    }
+                }
+                newSize += sign;
+            }
+            return new Counts(newDifficulty, newCuisine, newDietary, newSize);
+        }
+
+        public int size() { return size; }
+        public int difficultyCount(String value) { return isSet(value) ? get(difficulty, difficultyId(value)) : size; }
+        public int cuisineCount(String value) { return isSet(value) ? get(cuisine, Recipe.CUISINES.idOf(value)) : size; }
+        public int dietaryCount(String value) { return isSet(value) ? get(dietary, Recipe.DIETARY_TAGS.idOf(value)) : size; }
+
+        private static int get(int[] counts, int value) {
+            return value >= 0 && value < counts.length ? counts[value] : 0;
+        }
+
+        // Adds other to counts, growing it as needed; counts is modified unless it had to grow
+        private static int[] plus(int[] counts, int[] other) {
+            int[] result = counts.length >= other.length ? counts : Arrays.copyOf(counts, other.length);
+            for (int value = 0; value < other.length; value++) {
+                result[value] += other[value];
+            }
+            return result;
+        }
+
+        // Adds sign to the count of value, growing counts as needed
+        private static int[] add(int[] counts, int value, int sign) {
+            int[] result = value < counts.length ? counts : Arrays.copyOf(counts, value + 1);
+            result[value] += sign;
+            return result;
+        }
+
+        private static boolean listedBefore(int[] ids, int i) {
+            for (int j = 0; j < i; j++) {
+                if (ids[j] == ids[i]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
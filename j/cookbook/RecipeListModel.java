@@ -0,0 +1,35 @@
+package cookbook;
+
+import javax.swing.*;
+import java.util.Collections;
+import java.util.List;
+
+// List model over the current search results; rows are looked up on demand instead of copied into the model
+class RecipeListModel extends AbstractListModel<Recipe> {
+    private static final long serialVersionUID = 1L;
+
+    @SuppressWarnings("serial") // Result views are not serializable, like the Swing components showing them
+    private List<Recipe> recipes = Collections.emptyList(); // Recipes currently shown, in display order
+
+    // Replaces the shown recipes with a new result set
+    public void setRecipes(List<Recipe> recipes) {
+        int oldSize = this.recipes.size();
+        this.recipes = recipes;
+        if (oldSize > 0) {
+            fireIntervalRemoved(this, 0, oldSize - 1);
+        }
+        if (!recipes.isEmpty()) {
+            fireIntervalAdded(this, 0, recipes.size() - 1);
+        }
+    }
+
+    @Override
+    public int getSize() {
+        return recipes.size();
+    }
+
+    @Override
+    public Recipe getElementAt(int index) {
+        return recipes.get(index);
+    }
+}
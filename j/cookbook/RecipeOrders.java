@@ -0,0 +1,98 @@
+package cookbook;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+// Total time, difficulty and name orders of one catalogue segment, computed once so queries never run a Comparator sort
+class RecipeOrders {
+    private final int size; // Number of recipes ordered
+    private final int[] totalTimes; // cookingTime + prepTime per recipe
+    private final String[] names; // Recipe names, the key of the name order
+    private final Difficulty[] difficulties; // Difficulty per recipe
+    private final int[][] orders; // [sort order][position] recipe id
+    private final int[][] ranks; // [sort order][recipe] position of the recipe in that order
+
+    // Sorts the given recipes once per order; a recipe's id is its position in the list
+    public RecipeOrders(List<Recipe> recipes) {
+        size = recipes.size();
+        totalTimes = new int[size];
+        names = new String[size];
+        difficulties = new Difficulty[size];
+        for (int id = 0; id < size; id++) {
+            Recipe recipe = recipes.get(id);
+            totalTimes[id] = recipe.getCookingTime() + recipe.getPrepTime();
+            names[id] = recipe.getName();
+            difficulties[id] = recipe.getDifficultyLevel();
+        }
+        orders = new int[SortOrder.values().length][];
+        ranks = new int[SortOrder.values().length][];
+        for (SortOrder order : SortOrder.values()) {
+            if (order != SortOrder.RELEVANCE) {
+                precompute(order);
+            }
+        }
+    }
+
+    // Compares recipe a of this segment with recipe b of other in the given order; 0 means tied on the sort key
+    public int compare(SortOrder order, int a, RecipeOrders other, int b) {
+        switch (order) {
+            case TOTAL_TIME:
+                return Integer.compare(totalTimes[a], other.totalTimes[b]);
+            case DIFFICULTY:
+                int byDifficulty = difficulties[a].compareTo(other.difficulties[b]);
+                return byDifficulty != 0 ? byDifficulty : Integer.compare(totalTimes[a], other.totalTimes[b]);
+            case NAME:
+                return String.CASE_INSENSITIVE_ORDER.compare(names[a], other.names[b]);
+            default:
+                throw new IllegalArgumentException("Not a precomputed order: " + order);
+        }
+    }
+
+    // Lists the ascending matches in the given order, which must not be RELEVANCE: sparse matches are sorted
+    // by their rank as plain ints, dense ones are picked out while walking the whole order
+    public int[] arrange(int[] matches, SortOrder order) {
+        int[] rank = ranks[order.ordinal()];
+        int[] sequence = orders[order.ordinal()];
+        int[] result = new int[matches.length];
+        if ((long) matches.length * 32 < size) {
+            for (int i = 0; i < matches.length; i++) {
+                result[i] = rank[matches[i]];
+            }
+            Arrays.sort(result);
+            for (int i = 0; i < result.length; i++) {
+                result[i] = sequence[result[i]];
+            }
+            return result;
+        }
+        BitSet members = new BitSet(size);
+        for (int id : matches) {
+            members.set(id);
+        }
+        int count = 0;
+        for (int id : sequence) {
+            if (members.get(id)) {
+                result[count++] = id;
+            }
+        }
+        return result;
+    }
+
+    private void precompute(SortOrder order) {
+        Integer[] sorted = new Integer[size];
+        for (int id = 0; id < size; id++) {
+            sorted[id] = id;
+        }
+        Comparator<Integer> byKey = (a, b) -> compare(order, a, this, b);
+        Arrays.sort(sorted, byKey.thenComparingInt(id -> id)); // Ties keep catalogue order
+        int[] sequence = new int[size];
+        int[] rank = new int[size];
+        for (int position = 0; position < size; position++) {
+            sequence[position] = sorted[position];
+            rank[sorted[position]] = position;
+        }
+        orders[order.ordinal()] = sequence;
+        ranks[order.ordinal()] = rank;
+    }
+}
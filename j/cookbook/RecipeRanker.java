@@ -0,0 +1,364 @@
+package cookbook;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// BM25F relevance over name, ingredients and instructions with top-K selection, for one segment of the catalogue.
+// Catalogues that read instructions on demand are ranked without them, leaving that field empty.
+// A keyword token no recipe contains, usually a word still being typed such as "chick", is scored as the most
+// common terms it is a prefix of ("chicken", "chickpea"), since keyword matching accepts name substrings.
+class RecipeRanker {
+    private static final float K1 = 1.2f; // BM25 term frequency saturation
+    private static final float B = 0.75f; // BM25 length normalization
+    private static final float[] FIELD_WEIGHTS = {3f, 2f, 1f}; // Name, ingredients, instructions: a name hit counts most
+    private static final int MAX_EXPANSIONS = 16; // Most terms a partial token is scored as, the most frequent first
+    private static final int[] NONE = new int[0];
+    private static final short[] NO_TFS = new short[0];
+
+    private final int size; // Number of recipes ranked, deleted ones included
+    private final Map<String, Integer> termIds = new HashMap<>(); // Token to term id
+    private final String[] sortedTerms; // Every term in sorted order, for expanding prefixes
+    private final int[] documentFrequency; // Recipes containing each term in any field
+    private final int[][][] postingDocs; // [field][term] ascending recipe ids containing the term
+    private final short[][][] postingFrequencies; // [field][term] occurrences of the term in each of those recipes
+    private final short[][] fieldLengths; // [field][recipe] number of tokens
+    private final long[] lengthTotals = new long[3]; // Tokens per field over all recipes
+    private final int[] totalTimes; // cookingTime + prepTime per recipe, the relevance tie-breaker
+
+    // Builds the statistics for the given recipes; a recipe's id is its position in the list
+    public RecipeRanker(List<Recipe> recipes, boolean withInstructions) {
+        size = recipes.size();
+        totalTimes = new int[size];
+        fieldLengths = new short[3][size];
+        List<PostingBuilder[]> builders = new ArrayList<>(); // Per term, one builder per field
+        int[] lastSeen = new int[64]; // Last recipe counted in each term's document frequency
+        int[] frequencies = new int[64];
+        Map<String, int[]> counts = new HashMap<>(); // Reused per field: token to occurrence count
+
+        for (int id = 0; id < size; id++) {
+            Recipe recipe = recipes.get(id);
+            totalTimes[id] = recipe.getCookingTime() + recipe.getPrepTime();
+            String[] fields = {recipe.getName(), recipe.getIngredients(), withInstructions ? recipe.getInstructions() : ""};
+            for (int field = 0; field < fields.length; field++) {
+                String[] tokens = tokens(fields[field]);
+                fieldLengths[field][id] = (short) Math.min(tokens.length, Short.MAX_VALUE);
+                lengthTotals[field] += tokens.length;
+                counts.clear();
+                for (String token : tokens) {
+                    counts.computeIfAbsent(token, t -> new int[1])[0]++;
+                }
+                for (Map.Entry<String, int[]> entry : counts.entrySet()) {
+                    Integer term = termIds.get(entry.getKey());
+                    if (term == null) {
+                        term = builders.size();
+                        termIds.put(entry.getKey(), term);
+                        builders.add(new PostingBuilder[]{new PostingBuilder(), new PostingBuilder(), new PostingBuilder()});
+                        if (term == lastSeen.length) {
+                            lastSeen = Arrays.copyOf(lastSeen, term * 2);
+                            frequencies = Arrays.copyOf(frequencies, term * 2);
+                        }
+                        lastSeen[term] = -1;
+                    }
+                    builders.get(term)[field].add(id, entry.getValue()[0]);
+                    if (lastSeen[term] != id) {
+                        lastSeen[term] = id;
+                        frequencies[term]++;
+                    }
+                }
+            }
+        }
+
+        // Freeze the builders into trimmed arrays
+        sortedTerms = termIds.keySet().toArray(new String[0]);
+        Arrays.sort(sortedTerms);
+        int terms = builders.size();
+        documentFrequency = Arrays.copyOf(frequencies, terms);
+        postingDocs = new int[3][terms][];
+        postingFrequencies = new short[3][terms][];
+        for (int term = 0; term < terms; term++) {
+            for (int field = 0; field < 3; field++) {
+                PostingBuilder builder = builders.get(term)[field];
+                postingDocs[field][term] = builder.size == 0 ? NONE : Arrays.copyOf(builder.docs, builder.size);
+                postingFrequencies[field][term] = builder.size == 0 ? NO_TFS : Arrays.copyOf(builder.frequencies, builder.size);
+            }
+        }
+    }
+
+    // Gathers what scoring the keywords needs from every ranker of one catalogue: document frequencies and field
+    // lengths are summed over all of them, so their scores can be compared and merged as if one ranker had
+    // produced them. Tokens no recipe contains are replaced by the terms they are a prefix of.
+    // Deleted recipes still count towards the statistics until their segment is rebuilt.
+    static Statistics statistics(List<RecipeRanker> rankers, String[] keywords) {
+        Map<String, Integer> frequencies = new LinkedHashMap<>(); // Query token to document frequency
+        for (String keyword : keywords) {
+            for (String token : tokens(keyword)) {
+                int frequency = documentFrequency(rankers, token);
+                if (frequency > 0) {
+                    frequencies.putIfAbsent(token, frequency);
+                } else {
+                    expand(rankers, token, frequencies);
+                }
+            }
+        }
+        int recipes = 0;
+        long[] lengths = new long[3];
+        for (RecipeRanker ranker : rankers) {
+            recipes += ranker.size;
+            for (int field = 0; field < 3; field++) {
+                lengths[field] += ranker.lengthTotals[field];
+            }
+        }
+        String[] tokens = frequencies.keySet().toArray(new String[0]);
+        float[] idf = new float[tokens.length];
+        for (int t = 0; t < tokens.length; t++) {
+            idf[t] = idf(recipes, frequencies.get(tokens[t]));
+        }
+        float[] averageLengths = new float[3];
+        for (int field = 0; field < 3; field++) {
+            averageLengths[field] = averageLength(lengths[field], recipes);
+        }
+        return new Statistics(tokens, idf, averageLengths);
+    }
+
+    // Number of recipes containing the token, over all rankers
+    private static int documentFrequency(List<RecipeRanker> rankers, String token) {
+        int frequency = 0;
+        for (RecipeRanker ranker : rankers) {
+            Integer term = ranker.termIds.get(token);
+            if (term != null) {
+                frequency += ranker.documentFrequency[term];
+            }
+        }
+        return frequency;
+    }
+
+    // Adds the MAX_EXPANSIONS most frequent terms starting with prefix, with their document frequencies
+    private static void expand(List<RecipeRanker> rankers, String prefix, Map<String, Integer> frequencies) {
+        Map<String, Integer> expansions = new HashMap<>();
+        for (RecipeRanker ranker : rankers) {
+            int position = Arrays.binarySearch(ranker.sortedTerms, prefix);
+            for (int i = position >= 0 ? position : -position - 1;
+                 i < ranker.sortedTerms.length && ranker.sortedTerms[i].startsWith(prefix); i++) {
+                String term = ranker.sortedTerms[i];
+                expansions.merge(term, ranker.documentFrequency[ranker.termIds.get(term)], Integer::sum);
+            }
+        }
+        List<Map.Entry<String, Integer>> byFrequency = new ArrayList<>(expansions.entrySet());
+        byFrequency.sort(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<String, Integer> expansion : byFrequency.subList(0, Math.min(MAX_EXPANSIONS, byFrequency.size()))) {
+            frequencies.putIfAbsent(expansion.getKey(), expansion.getValue());
+        }
+    }
+
+    // Scores each of the ascending matches against the query tokens as it is reached and keeps the best k in a
+    // bounded min-heap, then drains it best first. Matches without any query token score zero and are ordered by
+    // total time.
+    public Ranked top(int[] matches, Statistics statistics, int k) {
+        int[] terms = new int[statistics.tokens.length]; // Term id of each query token, -1 when no recipe here has it
+        for (int t = 0; t < terms.length; t++) {
+            Integer term = termIds.get(statistics.tokens[t]);
+            terms[t] = term != null ? term : -1;
+        }
+        int[] cursors = new int[3 * terms.length]; // Next unread position in each token's posting list, per field
+        Ranked heap = new Ranked(Math.min(k, matches.length)); // The root is the worst of the kept results
+        int heapSize = 0;
+        for (int id : matches) {
+            float score = score(id, terms, cursors, statistics);
+            if (heapSize < heap.ids.length) {
+                siftUp(heap, heapSize++, id, score, totalTimes[id]);
+            } else if (heapSize > 0 && beats(score, totalTimes[id], id, heap.scores[0], heap.times[0], heap.ids[0])) {
+                siftDown(heap, heapSize, id, score, totalTimes[id]); // Replaces the worst kept result
+            }
+        }
+        // Moves the worst kept result behind the heap until it is empty, which leaves the results best first
+        for (int last = heapSize - 1; last > 0; last--) {
+            int id = heap.ids[last];
+            float score = heap.scores[last];
+            int time = heap.times[last];
+            heap.move(0, last);
+            siftDown(heap, last, id, score, time);
+        }
+        return heap;
+    }
+
+    // Merges rankings, each best first and holding catalogue ids, into the best k of them all
+    static int[] merge(Ranked[] rankings, int k) {
+        int total = 0;
+        for (Ranked ranking : rankings) {
+            total += ranking.ids.length;
+        }
+        int[] merged = new int[Math.min(k, total)];
+        int[] heads = new int[rankings.length]; // Next unmerged position in each ranking
+        for (int out = 0; out < merged.length; out++) {
+            int best = -1;
+            for (int r = 0; r < rankings.length; r++) {
+                if (heads[r] < rankings[r].ids.length && (best < 0 || rankings[r].beats(heads[r], rankings[best], heads[best]))) {
+                    best = r;
+                }
+            }
+            merged[out] = rankings[best].ids[heads[best]++];
+        }
+        return merged;
+    }
+
+    // Sums the BM25F score of each query token for one match. Matches arrive ascending, so each posting list is
+    // walked once per query, its cursor only moving forward
+    private float score(int id, int[] terms, int[] cursors, Statistics statistics) {
+        float score = 0;
+        for (int t = 0; t < terms.length; t++) {
+            if (terms[t] < 0) {
+                continue; // None of these recipes contain the token
+            }
+            float weighted = 0; // Length-normalized, field-weighted term frequency
+            for (int field = 0; field < 3; field++) {
+                int[] docs = postingDocs[field][terms[t]];
+                int cursor = 3 * t + field;
+                if (cursors[cursor] == docs.length) {
+                    continue;
+                }
+                int p = seek(docs, cursors[cursor], id);
+                if (p < docs.length && docs[p] == id) {
+                    float norm = 1 - B + B * fieldLengths[field][id] / statistics.averageLengths[field];
+                    weighted += FIELD_WEIGHTS[field] * postingFrequencies[field][terms[t]][p] / norm;
+                    p++;
+                }
+                cursors[cursor] = p;
+            }
+            if (weighted > 0) {
+                score += statistics.idf[t] * weighted * (K1 + 1) / (weighted + K1);
+            }
+        }
+        return score;
+    }
+
+    // First position at or after from whose doc is not below id. Gallops ahead, then binary searches the bracketed
+    // range, so walking a short list of matches through a long posting list costs little per match
+    private static int seek(int[] docs, int from, int id) {
+        int step = 1;
+        int to = from;
+        while (to < docs.length && docs[to] < id) {
+            from = to + 1;
+            to += step;
+            step <<= 1;
+        }
+        int found = Arrays.binarySearch(docs, from, Math.min(to + 1, docs.length), id);
+        return found >= 0 ? found : -found - 1;
+    }
+
+    // Higher score wins; ties go to the quicker recipe, then to catalogue order
+    private static boolean beats(float score, int time, int id, float otherScore, int otherTime, int otherId) {
+        if (score != otherScore) {
+            return score > otherScore;
+        }
+        return time != otherTime ? time < otherTime : id < otherId;
+    }
+
+    // Puts the result at position and moves it towards the root while it is worse than its parent
+    private static void siftUp(Ranked heap, int position, int id, float score, int time) {
+        while (position > 0) {
+            int parent = (position - 1) >>> 1;
+            if (!beats(heap.scores[parent], heap.times[parent], heap.ids[parent], score, time, id)) {
+                break;
+            }
+            heap.move(parent, position);
+            position = parent;
+        }
+        heap.set(position, id, score, time);
+    }
+
+    // Puts the result at the root and moves it down while it beats the worse of its children
+    private static void siftDown(Ranked heap, int heapSize, int id, float score, int time) {
+        int position = 0;
+        while (true) {
+            int child = 2 * position + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap.beats(child, heap, child + 1)) {
+                child++; // Descend towards the worse child
+            }
+            if (!beats(score, time, id, heap.scores[child], heap.times[child], heap.ids[child])) {
+                break;
+            }
+            heap.move(child, position);
+            position = child;
+        }
+        heap.set(position, id, score, time);
+    }
+
+    private static float idf(int recipes, int documentFrequency) {
+        return (float) Math.log(1 + (recipes - documentFrequency + 0.5) / (documentFrequency + 0.5));
+    }
+
+    private static float averageLength(long tokens, int recipes) {
+        return recipes == 0 ? 1 : Math.max(1, (float) tokens / recipes);
+    }
+
+    // Lowercases text and splits it into letter and digit runs
+    static String[] tokens(String text) {
+        String trimmed = text.toLowerCase().replaceAll("^[^\\p{L}\\p{N}]+", "");
+        return trimmed.isEmpty() ? new String[0] : trimmed.split("[^\\p{L}\\p{N}]+");
+    }
+
+    // Best matches of one ranking, best first, with what merging rankings needs to compare them
+    static final class Ranked {
+        final int[] ids; // Recipe ids
+        final float[] scores; // Relevance score of each
+        final int[] times; // Total time of each, the tie-breaker
+
+        Ranked(int size) {
+            ids = new int[size];
+            scores = new float[size];
+            times = new int[size];
+        }
+
+        // Same rule as the heap: higher score, then quicker recipe, then lower id
+        boolean beats(int position, Ranked other, int otherPosition) {
+            return RecipeRanker.beats(scores[position], times[position], ids[position],
+                    other.scores[otherPosition], other.times[otherPosition], other.ids[otherPosition]);
+        }
+
+        private void set(int position, int id, float score, int time) {
+            ids[position] = id;
+            scores[position] = score;
+            times[position] = time;
+        }
+
+        private void move(int from, int to) {
+            set(to, ids[from], scores[from], times[from]);
+        }
+    }
+
+    // Query tokens with their catalogue-wide weights, shared by the rankers scoring one query
+    static final class Statistics {
+        final String[] tokens; // Distinct lowercased tokens of the keywords, partial ones expanded to whole terms
+        final float[] idf; // Inverse document frequency of each token
+        final float[] averageLengths; // Average number of tokens per field
+
+        Statistics(String[] tokens, float[] idf, float[] averageLengths) {
+            this.tokens = tokens;
+            this.idf = idf;
+            this.averageLengths = averageLengths;
+        }
+    }
+
+    // Growable posting list of one term in one field, used only while building
+    private static final class PostingBuilder {
+        private int[] docs = new int[2];
+        private short[] frequencies = new short[2];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size++] = (short) Math.min(frequency, Short.MAX_VALUE);
+        }
+    }
+}
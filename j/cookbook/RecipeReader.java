@@ -0,0 +1,50 @@
+package cookbook;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+// Streaming importer that yields one recipe at a time, so catalogues never have to fit in memory as text
+interface RecipeReader extends Closeable {
+    // Returns the next recipe, or null once the input is exhausted
+    Recipe next() throws IOException;
+
+    // Opens a reader for a .json or .csv catalogue file
+    static RecipeReader open(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase();
+        BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+        if (name.endsWith(".json")) {
+            return new JsonRecipeReader(in);
+        }
+        if (name.endsWith(".csv")) {
+            return new CsvRecipeReader(in);
+        }
+        in.close();
+        throw new IOException("Unsupported catalogue format: " + path);
+    }
+
+    // Builds a recipe from field values keyed by the Recipe property names, e.g. "cookingTime"
+    static Recipe toRecipe(Map<String, String> fields, int recordNumber) throws IOException {
+        try {
+            return new Recipe(required(fields, "name"), required(fields, "ingredients"),
+                    required(fields, "instructions"), Integer.parseInt(required(fields, "cookingTime").trim()),
+                    required(fields, "imagePath"), required(fields, "difficulty"),
+                    Integer.parseInt(required(fields, "prepTime").trim()), required(fields, "cuisineType"),
+                    required(fields, "dietaryPreferences"));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid recipe #" + recordNumber + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static String required(Map<String, String> fields, String field) {
+        String value = fields.get(field);
+        if (value == null) {
+            throw new IllegalArgumentException("missing field " + field);
+        }
+        return value;
+    }
+}
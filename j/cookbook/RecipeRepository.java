@@ -0,0 +1,57 @@
+package cookbook;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+
+// Source of the recipe catalogue; a recipe's id is its position in the repository
+interface RecipeRepository extends AutoCloseable {
+    // Number of recipes in the repository
+    int size();
+
+    // Materializes the recipe with the given id
+    Recipe get(int id);
+
+    // Whether recipes hold their instructions in memory; when they are read on demand, search does not rank on
+    // them, since indexing them would read every recipe's instructions at startup
+    default boolean holdsInstructions() {
+        return true;
+    }
+
+    // Releases files held by the repository
+    @Override
+    default void close() throws IOException {
+    }
+
+    // Read-only list view of the repository; recipes are materialized as elements are accessed
+    default List<Recipe> asList() {
+        return new AbstractList<Recipe>() {
+            @Override
+            public Recipe get(int index) {
+                return RecipeRepository.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return RecipeRepository.this.size();
+            }
+        };
+    }
+
+    // Opens a catalogue file: binary stores (.rcb) are memory-mapped, JSON and CSV files are streamed into memory
+    static RecipeRepository open(Path path) throws IOException {
+        if (path.toString().endsWith(BinaryRecipeRepository.EXTENSION)) {
+            return new BinaryRecipeRepository(path);
+        }
+        List<Recipe> recipes = new ArrayList<>();
+        try (RecipeReader reader = RecipeReader.open(path)) {
+            Recipe recipe;
+            while ((recipe = reader.next()) != null) {
+                recipes.add(recipe);
+            }
+        }
+        return new InMemoryRecipeRepository(recipes);
+    }
+}
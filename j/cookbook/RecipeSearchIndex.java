@@ -0,0 +1,423 @@
+package cookbook;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+// Keyword index over recipes, built once and queried by the keyword search.
+// A keyword matches a recipe when it occurs anywhere in the lowercased name, found through a trigram index (one-
+// and two-letter keywords through a unigram and bigram index), or when it is exactly one of the recipe's
+// ingredients, found through per-ingredient posting lists, which also answer pantry queries without reading any
+// recipe's ingredient list.
+class RecipeSearchIndex {
+    private static final int GRAM_LENGTH = 3; // Keywords at least this long are answered from the trigram posting lists
+    private static final int MAX_INTERSECTED = 3; // Most trigram posting lists intersected per keyword, the rarest
+    private static final int[] NONE = new int[0];
+
+    private final String[] names; // Lowercased recipe names, indexed by recipe id
+    private final int[] ingredientCounts; // Number of distinct ingredients of each recipe
+    private final long[] terms; // Sorted term dictionary of encoded name trigrams
+    private final int[][] postings; // Ascending recipe ids for each entry of the term dictionary
+    private final long[] shortTerms; // Sorted dictionary of encoded name unigrams and bigrams
+    // Recipes whose name contains each unigram or bigram: an id list, or a bitmap when more than one in 32 do, as
+    // common letters such as "a" or "e" do, where the bitmap is the smaller of the two. Exactly one is non-null
+    private final int[][] shortPostings;
+    private final BitSet[] shortBitmaps;
+    private final int[][] ingredientPostings; // Ascending recipe ids for each ingredient id
+
+    // Builds the index for the given recipes; a recipe's id is its position in the list
+    public RecipeSearchIndex(List<Recipe> recipes) {
+        int count = recipes.size();
+        names = new String[count];
+        ingredientCounts = new int[count];
+
+        GramTable table = new GramTable(); // Collects the posting list of every trigram seen
+        GramTable shortTable = new GramTable(); // And of every unigram and bigram
+        long[] recipeGrams = new long[64]; // Scratch buffer for the trigrams of a single recipe
+        int[][] byIngredient = new int[Recipe.INGREDIENTS.size()][]; // Growing posting list per ingredient id
+        int[] byIngredientSize = new int[byIngredient.length];
+        for (int id = 0; id < count; id++) {
+            Recipe recipe = recipes.get(id);
+            names[id] = recipe.getName().toLowerCase(); // Lowercase once here instead of on every query
+
+            // Gather the name trigrams and drop duplicates so each id is posted once per trigram
+            if (recipeGrams.length < names[id].length()) {
+                recipeGrams = new long[Math.max(names[id].length(), recipeGrams.length * 2)];
+            }
+            int gramCount = collectGrams(names[id], recipeGrams, 0);
+            Arrays.sort(recipeGrams, 0, gramCount);
+            for (int i = 0; i < gramCount; i++) {
+                if (i == 0 || recipeGrams[i] != recipeGrams[i - 1]) {
+                    table.add(recipeGrams[i], id); // Ids arrive in ascending order, so postings stay sorted
+                }
+            }
+            if (recipeGrams.length < 2 * names[id].length()) {
+                recipeGrams = new long[2 * names[id].length()];
+            }
+            gramCount = collectShortGrams(names[id], recipeGrams);
+            Arrays.sort(recipeGrams, 0, gramCount);
+            for (int i = 0; i < gramCount; i++) {
+                if (i == 0 || recipeGrams[i] != recipeGrams[i - 1]) {
+                    shortTable.add(recipeGrams[i], id);
+                }
+            }
+
+            // Post the recipe under each of its distinct ingredients
+            int[] ingredientIds = distinctSorted(recipe.getIngredientIds());
+            ingredientCounts[id] = ingredientIds.length;
+            for (int ingredient : ingredientIds) {
+                if (ingredient >= byIngredient.length) { // Interned by another catalogue while we were building
+                    byIngredient = Arrays.copyOf(byIngredient, ingredient + 1);
+                    byIngredientSize = Arrays.copyOf(byIngredientSize, ingredient + 1);
+                }
+                if (byIngredient[ingredient] == null) {
+                    byIngredient[ingredient] = new int[4];
+                } else if (byIngredientSize[ingredient] == byIngredient[ingredient].length) {
+                    byIngredient[ingredient] = Arrays.copyOf(byIngredient[ingredient], byIngredientSize[ingredient] * 2);
+                }
+                byIngredient[ingredient][byIngredientSize[ingredient]++] = id;
+            }
+        }
+
+        // Freeze the table into a sorted dictionary that can be binary searched without allocating
+        terms = table.sortedKeys();
+        postings = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            postings[i] = table.postingsOf(terms[i]);
+        }
+        shortTerms = shortTable.sortedKeys();
+        shortPostings = new int[shortTerms.length][];
+        shortBitmaps = new BitSet[shortTerms.length];
+        for (int i = 0; i < shortTerms.length; i++) {
+            int[] list = shortTable.postingsOf(shortTerms[i]);
+            if (list.length > count / 32) {
+                shortBitmaps[i] = new BitSet(count);
+                for (int id : list) {
+                    shortBitmaps[i].set(id);
+                }
+            } else {
+                shortPostings[i] = list;
+            }
+        }
+        ingredientPostings = new int[byIngredient.length][];
+        for (int i = 0; i < byIngredient.length; i++) {
+            ingredientPostings[i] = byIngredient[i] == null ? NONE : Arrays.copyOf(byIngredient[i], byIngredientSize[i]);
+        }
+    }
+
+    // Number of recipes covered by the index
+    public int size() {
+        return names.length;
+    }
+
+    // Returns the ascending ids of recipes that match every keyword, by name substring or exact ingredient.
+    // Keywords are expected to be lowercased already, exactly as SearchQuery.keywordsOf splits them.
+    public int[] search(String[] keywords) {
+        return search(keywords, null);
+    }
+
+    // Same as search(keywords), but starts from the ascending results of an earlier query that this one refines
+    // (see SearchQuery.refines) instead of the whole catalogue; null means no earlier results.
+    // Throws CancellationException if the calling thread is interrupted part way through.
+    public int[] search(String[] keywords, int[] previousMatches) {
+        int[] candidates = previousMatches; // Null stands for every recipe
+        if (candidates != null) {
+            // A longer keyword can newly match a recipe by exact ingredient ("chick" -> "chicken"), so those
+            // recipes are candidates too even if the earlier query did not return them
+            for (String keyword : keywords) {
+                candidates = union(candidates, ingredientPostings(keyword));
+            }
+        }
+
+        // Each keyword narrows the candidates through the posting lists; an empty keyword matches every recipe
+        for (String keyword : keywords) {
+            if (keyword.isEmpty()) {
+                continue;
+            }
+            int[] nameHits = keyword.length() < GRAM_LENGTH ? namesWithShortGram(keyword, candidates)
+                    : namesContaining(keyword, candidates);
+            int[] hits = union(nameHits, ingredientPostings(keyword));
+            candidates = candidates == null ? hits : intersect(candidates, hits);
+            if (candidates.length == 0) {
+                return NONE.clone();
+            }
+        }
+        // The candidates may still be the caller's array or a posting list, so hand out a copy
+        return candidates == null ? allIds() : candidates.clone();
+    }
+
+    // Number of its distinct ingredients each recipe lacks from the pantry (distinct ingredient ids), indexed by
+    // recipe id. Starts from each recipe's ingredient count and walks the pantry ingredients' posting lists,
+    // so the cost is the number of recipes plus the postings of the pantry, however long the ingredient lists are.
+    public int[] missingIngredients(int[] pantry) {
+        int[] missing = ingredientCounts.clone();
+        for (int ingredient : pantry) {
+            if (ingredient >= 0 && ingredient < ingredientPostings.length) {
+                for (int id : ingredientPostings[ingredient]) {
+                    missing[id]--;
+                }
+            }
+        }
+        return missing;
+    }
+
+    // Returns the ascending ids of recipes listing exactly this ingredient
+    public int[] ingredientPostings(String keyword) {
+        int ingredient = Recipe.INGREDIENTS.idOf(keyword);
+        return ingredient >= 0 && ingredient < ingredientPostings.length ? ingredientPostings[ingredient] : NONE;
+    }
+
+    // Returns the ascending ids among candidates (all recipes when null) whose name contains the keyword
+    private int[] namesContaining(String keyword, int[] candidates) {
+        int[][] lists = new int[keyword.length() - GRAM_LENGTH + 2][];
+        int listCount = 0;
+        if (candidates != null) {
+            lists[listCount++] = candidates; // The restriction is intersected like any other posting list
+        }
+        for (int start = 0; start + GRAM_LENGTH <= keyword.length(); start++) {
+            int term = Arrays.binarySearch(terms, encode(keyword, start));
+            if (term < 0) {
+                return NONE; // A trigram no name contains means no name can match
+            }
+            lists[listCount++] = postings[term];
+        }
+
+        // Intersect the lists rarest first, so the working set shrinks as quickly as possible. Past the rarest few
+        // the longer lists seldom remove anything, and the substring test below is cheaper than walking them
+        Arrays.sort(lists, 0, listCount, (a, b) -> Integer.compare(a.length, b.length));
+        int[] matches = lists[0].clone();
+        int count = matches.length;
+        for (int i = 1; i < listCount && count > 0; i++) {
+            if (i < MAX_INTERSECTED || lists[i] == candidates) {
+                checkCancelled();
+                count = intersect(matches, count, lists[i]);
+            }
+        }
+
+        // Trigrams can match out of order, so confirm each candidate with the substring test
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            if ((i & 4095) == 0) {
+                checkCancelled();
+            }
+            if (names[matches[i]].contains(keyword)) {
+                matches[kept++] = matches[i];
+            }
+        }
+        return Arrays.copyOf(matches, kept);
+    }
+
+    // Returns the ascending ids among candidates (all recipes when null) whose name contains the one- or two-letter
+    // keyword. The gram is the whole keyword, so its postings need no substring test
+    private int[] namesWithShortGram(String keyword, int[] candidates) {
+        int term = Arrays.binarySearch(shortTerms, encodeShort(keyword, 0, keyword.length()));
+        if (term < 0) {
+            return NONE;
+        }
+        if (shortPostings[term] != null) {
+            return shortPostings[term]; // Intersected with the candidates by the caller
+        }
+        BitSet bitmap = shortBitmaps[term];
+        if (candidates == null) {
+            return bitmap.stream().toArray();
+        }
+        int[] matches = new int[candidates.length];
+        int count = 0;
+        for (int id : candidates) {
+            if (bitmap.get(id)) {
+                matches[count++] = id;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    // Sorted copy of ids without repeats
+    private static int[] distinctSorted(int[] ids) {
+        int[] sorted = ids.clone();
+        Arrays.sort(sorted);
+        int count = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[count++] = sorted[i];
+            }
+        }
+        return count == sorted.length ? sorted : Arrays.copyOf(sorted, count);
+    }
+
+    private int[] allIds() {
+        int[] ids = new int[names.length];
+        Arrays.setAll(ids, i -> i);
+        return ids;
+    }
+
+    // Abandons a search whose thread was interrupted because a newer query superseded it
+    private static void checkCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException();
+        }
+    }
+
+    // Merges two ascending id lists into one without duplicates; returns one of the inputs when the other is empty
+    private static int[] union(int[] a, int[] b) {
+        if (b.length == 0) {
+            return a;
+        }
+        if (a.length == 0) {
+            return b;
+        }
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                merged[count++] = a[i++];
+            } else if (a[i] > b[j]) {
+                merged[count++] = b[j++];
+            } else {
+                merged[count++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            merged[count++] = a[i++];
+        }
+        while (j < b.length) {
+            merged[count++] = b[j++];
+        }
+        return Arrays.copyOf(merged, count);
+    }
+
+    // Returns the ids occurring in both ascending lists as a new array
+    private static int[] intersect(int[] a, int[] b) {
+        int[] shorter = a.length <= b.length ? a : b;
+        int[] result = shorter.clone();
+        return Arrays.copyOf(result, intersect(result, result.length, shorter == a ? b : a));
+    }
+
+    // Keeps the ids of candidates[0..count) that also occur in list, returning the new count
+    private static int intersect(int[] candidates, int count, int[] list) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < count && from < list.length; i++) {
+            int id = candidates[i];
+            // Gallop ahead in the longer list, then binary search inside the bracketed range
+            int step = 1;
+            int to = from;
+            while (to < list.length && list[to] < id) {
+                from = to + 1;
+                to += step;
+                step <<= 1;
+            }
+            int found = Arrays.binarySearch(list, from, Math.min(to + 1, list.length), id);
+            if (found >= 0) {
+                candidates[kept++] = id;
+                from = found + 1;
+            } else {
+                from = -found - 1;
+            }
+        }
+        return kept;
+    }
+
+    // Writes the encoded trigrams of text into buffer starting at offset, returning the new end offset
+    private static int collectGrams(String text, long[] buffer, int offset) {
+        for (int start = 0; start + GRAM_LENGTH <= text.length(); start++) {
+            buffer[offset++] = encode(text, start);
+        }
+        return offset;
+    }
+
+    // Writes the encoded unigrams and bigrams of text into buffer, returning how many were written
+    private static int collectShortGrams(String text, long[] buffer) {
+        int count = 0;
+        for (int start = 0; start < text.length(); start++) {
+            buffer[count++] = encodeShort(text, start, 1);
+            if (start + 1 < text.length()) {
+                buffer[count++] = encodeShort(text, start, 2);
+            }
+        }
+        return count;
+    }
+
+    // Packs one or two chars starting at start into one long, tagged with the length so no unigram equals a bigram
+    private static long encodeShort(String text, int start, int length) {
+        return length == 1 ? 1L << 32 | text.charAt(start)
+                : 2L << 32 | (long) text.charAt(start) << 16 | text.charAt(start + 1);
+    }
+
+    // Packs the three chars starting at start into one long so trigrams can be sorted and compared cheaply
+    private static long encode(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    // Open-addressing map from encoded trigram to a growing posting list, used only while building
+    private static final class GramTable {
+        private long[] keys = new long[1024]; // Trigram stored in each slot
+        private int[][] lists = new int[1024][]; // Posting list for each slot, null when the slot is free
+        private int[] sizes = new int[1024]; // Number of ids used in each posting list
+        private int used; // Number of occupied slots
+
+        void add(long key, int id) {
+            int slot = slotOf(key);
+            if (lists[slot] == null) {
+                keys[slot] = key;
+                lists[slot] = new int[4];
+                if (++used * 2 > keys.length) {
+                    grow();
+                    slot = slotOf(key);
+                }
+            }
+            int[] list = lists[slot];
+            if (sizes[slot] == list.length) {
+                lists[slot] = list = Arrays.copyOf(list, list.length * 2);
+            }
+            list[sizes[slot]++] = id;
+        }
+
+        long[] sortedKeys() {
+            long[] sorted = new long[used];
+            int next = 0;
+            for (int slot = 0; slot < keys.length; slot++) {
+                if (lists[slot] != null) {
+                    sorted[next++] = keys[slot];
+                }
+            }
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        int[] postingsOf(long key) {
+            int slot = slotOf(key);
+            return Arrays.copyOf(lists[slot], sizes[slot]); // Trim the spare capacity
+        }
+
+        // Finds the slot holding key, or the free slot where it belongs
+        private int slotOf(long key) {
+            int mask = keys.length - 1;
+            int slot = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (lists[slot] != null && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[][] oldLists = lists;
+            int[] oldSizes = sizes;
+            keys = new long[oldKeys.length * 2];
+            lists = new int[oldKeys.length * 2][];
+            sizes = new int[oldKeys.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldLists[i] != null) {
+                    int slot = slotOf(oldKeys[i]);
+                    keys[slot] = oldKeys[i];
+                    lists[slot] = oldLists[i];
+                    sizes[slot] = oldSizes[i];
+                }
+            }
+        }
+    }
+}
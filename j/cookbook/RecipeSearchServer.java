@@ -0,0 +1,543 @@
+package cookbook;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// HTTP/JSON search service over a RecipeCatalogue, one virtual thread per request:
+//   GET /search?q=garlic,onion&difficulty=Easy&cuisine=Italian&dietary=Vegan&sort=total_time&offset=0&limit=20
+//   GET /pantry?have=garlic,onion,rice&missing=1&sort=total_time&offset=0&limit=20, fewest missing first
+//   GET /shopping-list?ids=3,17,42&have=garlic, the ingredients of those recipes merged, minus the pantry
+//   GET /recipes/{id}
+//   POST /recipes, PUT /recipes/{id} with one recipe object in the catalogue's JSON format; DELETE /recipes/{id}
+//   GET /metrics, the plain-text Metrics report
+// The edit endpoints are unauthenticated, so they are off unless the server is created editable, and main binds
+// to the loopback interface unless told otherwise.
+class RecipeSearchServer {
+    static final int DEFAULT_PORT = 8080;
+    static final String HOST_PROPERTY = "cookbook.server.host"; // System property naming the interface main binds to
+    static final String EDITS_PROPERTY = "cookbook.server.edits"; // System property that, set to true, enables edits in main
+    private static final int DEFAULT_LIMIT = 20; // Results per page when the request does not say
+    private static final int MAX_LIMIT = 100; // Largest page served, so one request cannot ask for the whole catalogue
+    private static final int MAX_MISSING = 10; // Most missing ingredients a pantry query may allow
+    private static final int MAX_SHOPPING_RECIPES = 1000; // Most recipes one shopping list merges
+    private static final int MAX_BODY = 64 * 1024; // Largest request body accepted, in bytes
+    private static final String NODELAY_PROPERTY = "sun.net.httpserver.nodelay"; // Read once, when the JDK server is first used
+    // Limits on posted recipes; new names go into the shared dictionaries for good, so they are kept small
+    private static final int MAX_NAME_LENGTH = 200; // Longest recipe name or image path
+    private static final int MAX_TERM_LENGTH = 100; // Longest ingredient, cuisine or dietary tag
+    private static final int MAX_TERMS = 100; // Most ingredients or dietary tags in one recipe
+    private static final int MAX_NEW_TERMS = 10; // Most names one request may add to the shared dictionaries
+
+    private final RecipeCatalogue catalogue; // Shared engine answering every request; edits publish new snapshots
+    private final boolean editable; // Whether POST, PUT and DELETE /recipes are served
+    private final HttpServer server;
+    private final ExecutorService requests = Executors.newVirtualThreadPerTaskExecutor(); // Cheap thread per request
+
+    // Read-only server: /recipes answers GET only
+    public RecipeSearchServer(RecipeCatalogue catalogue, InetSocketAddress address) throws IOException {
+        this(catalogue, address, false);
+    }
+
+    // Server that also adds, replaces and deletes recipes when editable is set. For responses without a 40 ms stall,
+    // call useNoDelay() first or launch with -Dsun.net.httpserver.nodelay=true
+    public RecipeSearchServer(RecipeCatalogue catalogue, InetSocketAddress address, boolean editable) throws IOException {
+        this.catalogue = catalogue;
+        this.editable = editable;
+        this.server = HttpServer.create(address, 1024); // Deep accept backlog for bursts of clients
+        server.createContext("/search", exchange -> respond(exchange, "GET", this::search));
+        server.createContext("/pantry", exchange -> respond(exchange, "GET", this::pantry));
+        server.createContext("/shopping-list", exchange -> respond(exchange, "GET", this::shoppingList));
+        server.createContext("/recipes", exchange -> respond(exchange, editable ? "GET, POST, PUT, DELETE" : "GET", this::recipes));
+        server.createContext("/metrics", RecipeSearchServer::metrics);
+        server.setExecutor(requests);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Stops accepting requests and waits up to a second for those in progress
+    public void stop() {
+        server.stop(1);
+        requests.shutdown();
+    }
+
+    // The port actually bound, useful when the server was created on port 0
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 1) {
+            System.err.println("Usage: RecipeSearchServer [port]   (catalogue from -D" + RecipeCatalogue.CATALOGUE_PROPERTY
+                    + ", interface from -D" + HOST_PROPERTY + ", edits with -D" + EDITS_PROPERTY + "=true)");
+            System.exit(2);
+        }
+        int port = args.length == 1 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        String host = System.getProperty(HOST_PROPERTY);
+        InetSocketAddress address = host != null ? new InetSocketAddress(host, port)
+                : new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+        boolean editable = Boolean.getBoolean(EDITS_PROPERTY);
+        useNoDelay();
+        Metrics.register(); // Also over JMX as cookbook:type=Metrics
+        Path path = RecipeCatalogue.configuredPath();
+        long start = System.nanoTime();
+        RecipeCatalogue catalogue = RecipeCatalogue.open(path);
+        RecipeSearchServer server = new RecipeSearchServer(catalogue, address, editable);
+        server.start();
+        System.out.printf("Serving %,d recipes from %s on %s:%d%s (ready in %d ms)%n", catalogue.size(), path,
+                address.getHostString(), server.getPort(), editable ? ", edits enabled" : "",
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // The JDK server writes the headers and the body of a response separately. With Nagle's algorithm on, the body
+    // then waits for the client's delayed ACK, about 40 ms per request on a kept-alive connection. The property is
+    // read once, when the first server is created, so this must run before that; an explicit setting is kept
+    static void useNoDelay() {
+        if (System.getProperty(NODELAY_PROPERTY) == null) {
+            System.setProperty(NODELAY_PROPERTY, "true");
+        }
+    }
+
+    // Answers GET /search with one page of results
+    private String search(HttpExchange exchange) {
+        Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+        SearchQuery query = new SearchQuery(SearchQuery.keywordsOf(parameters.getOrDefault("q", "")),
+                facet(parameters, "difficulty"), facet(parameters, "cuisine"), facet(parameters, "dietary"),
+                sortOrder(parameters.get("sort")));
+        int offset = number(parameters, "offset", 0, Integer.MAX_VALUE, 0);
+        int limit = number(parameters, "limit", 0, MAX_LIMIT, DEFAULT_LIMIT);
+        RecipeCatalogue.Page page = catalogue.search(query, offset, limit);
+
+        StringBuilder json = new StringBuilder(256 + 256 * limit);
+        json.append("{\"total\":").append(page.getTotal())
+                .append(",\"offset\":").append(page.getOffset());
+        String[] suggestion = page.getSuggestion();
+        if (suggestion != null) {
+            json.append(",\"didYouMean\":");
+            quote(json, String.join(", ", suggestion));
+            json.append(",\"corrected\":").append(page.isCorrected()); // True when the results are for didYouMean
+        }
+        json.append(",\"results\":[");
+        int[] ids = page.getIds();
+        List<Recipe> recipes = page.getRecipes(); // From the snapshot that was searched, even if edited since
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            appendRecipe(json, ids[i], recipes.get(i), false); // Instructions are left to /recipes/{id}
+        }
+        return json.append("]}").toString();
+    }
+
+    // Answers GET /pantry with one page of the recipes the pantry covers, fewest missing ingredients first
+    private String pantry(HttpExchange exchange) {
+        Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+        Pantry pantry = Pantry.parse(parameters.getOrDefault("have", ""));
+        int maxMissing = number(parameters, "missing", 0, MAX_MISSING, 0);
+        SortOrder order = sortOrder(parameters.get("sort"));
+        int offset = number(parameters, "offset", 0, Integer.MAX_VALUE, 0);
+        int limit = number(parameters, "limit", 0, MAX_LIMIT, DEFAULT_LIMIT);
+        RecipeSearcher searcher = catalogue.snapshot(); // Ids and recipes from the same snapshot
+        int[][] byMissing = searcher.pantry(pantry, maxMissing, order);
+
+        StringBuilder json = new StringBuilder(256 + 256 * limit);
+        int total = 0;
+        json.append("{\"counts\":["); // Recipes missing exactly 0, 1, ... ingredients
+        for (int missing = 0; missing < byMissing.length; missing++) {
+            json.append(missing > 0 ? "," : "").append(byMissing[missing].length);
+            total += byMissing[missing].length;
+        }
+        json.append("],\"total\":").append(total).append(",\"offset\":").append(offset);
+        json.append(",\"unknown\":["); // Names no recipe uses, left out of the pantry
+        for (int i = 0; i < pantry.getUnknown().size(); i++) {
+            json.append(i > 0 ? "," : "");
+            quote(json, pantry.getUnknown().get(i));
+        }
+        json.append("],\"results\":[");
+        int skip = offset;
+        int written = 0;
+        for (int missing = 0; missing < byMissing.length && written < limit; missing++) {
+            int[] ids = byMissing[missing];
+            for (int i = Math.min(skip, ids.length); i < ids.length && written < limit; i++) {
+                json.append(written++ > 0 ? "," : "");
+                appendRecipe(json, ids[i], searcher.get(ids[i]), false);
+                json.setLength(json.length() - 1); // Reopens the object to add how many ingredients it lacks
+                json.append(",\"missing\":").append(missing).append('}');
+            }
+            skip = Math.max(0, skip - ids.length);
+        }
+        return json.append("]}").toString();
+    }
+
+    // Answers GET /shopping-list with the merged ingredients of the recipes, each with how many of them need it
+    private String shoppingList(HttpExchange exchange) {
+        Map<String, String> parameters = parameters(exchange.getRequestURI().getRawQuery());
+        String ids = parameters.getOrDefault("ids", "").trim();
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("ids is required, e.g. ids=3,17,42");
+        }
+        String[] values = ids.split("\\s*,\\s*");
+        if (values.length > MAX_SHOPPING_RECIPES) {
+            throw new IllegalArgumentException("At most " + MAX_SHOPPING_RECIPES + " recipes per shopping list");
+        }
+        RecipeSearcher searcher = catalogue.snapshot();
+        List<Recipe> recipes = new ArrayList<>(values.length);
+        for (String value : values) {
+            int id;
+            try {
+                id = Integer.parseInt(value);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Not a recipe id: " + value);
+            }
+            Recipe recipe = id < 0 ? null : searcher.get(id);
+            if (recipe == null) {
+                throw new NotFound("No recipe with id " + id);
+            }
+            recipes.add(recipe);
+        }
+        ShoppingList list = ShoppingList.of(recipes, Pantry.parse(parameters.getOrDefault("have", "")));
+
+        StringBuilder json = new StringBuilder(64 + 48 * list.size());
+        json.append("{\"recipes\":").append(list.getRecipes()).append(",\"items\":[");
+        for (int i = 0; i < list.size(); i++) {
+            json.append(i > 0 ? "," : "").append("{\"name\":");
+            quote(json, list.getName(i));
+            json.append(",\"recipes\":").append(list.getRecipeCount(i)).append('}');
+        }
+        return json.append("]}").toString();
+    }
+
+    // Answers /recipes: reads, replaces or deletes /recipes/{id}, or adds the posted recipe to /recipes
+    private String recipes(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        String method = exchange.getRequestMethod();
+        if (path.equals("/recipes") || path.equals("/recipes/")) {
+            if (!editable) {
+                throw new NotFound("No recipe at " + path);
+            }
+            if (!method.equals("POST")) {
+                throw new MethodNotAllowed("POST");
+            }
+            int id = catalogue.add(readRecipe(exchange));
+            return "{\"id\":" + id + "}";
+        }
+        int id;
+        try {
+            id = Integer.parseInt(path.startsWith("/recipes/") ? path.substring("/recipes/".length()) : path);
+        } catch (NumberFormatException e) {
+            throw new NotFound("No recipe at " + path);
+        }
+        Recipe recipe = catalogue.get(id);
+        if (recipe == null) {
+            throw new NotFound("No recipe with id " + id);
+        }
+        switch (method) {
+            case "GET":
+                StringBuilder json = new StringBuilder(2048);
+                appendRecipe(json, id, recipe, true);
+                return json.toString();
+            case "PUT":
+                Recipe replacement = readRecipe(exchange);
+                try {
+                    catalogue.update(id, replacement);
+                } catch (IllegalArgumentException e) {
+                    throw new NotFound("No recipe with id " + id); // Deleted since it was looked up above
+                }
+                return "{\"id\":" + id + "}";
+            case "DELETE":
+                try {
+                    catalogue.delete(id);
+                } catch (IllegalArgumentException e) {
+                    throw new NotFound("No recipe with id " + id); // Deleted since it was looked up above
+                }
+                return "{\"id\":" + id + "}";
+            default:
+                throw new MethodNotAllowed("GET, PUT, DELETE");
+        }
+    }
+
+    // Parses the request body as one recipe object with the fields of the JSON catalogue format, checking the
+    // field sizes and how many new names it brings before anything is interned
+    private static Recipe readRecipe(HttpExchange exchange) throws IOException {
+        byte[] bytes = exchange.getRequestBody().readNBytes(MAX_BODY + 1); // One byte more tells us it is too long
+        if (bytes.length > MAX_BODY) {
+            throw new PayloadTooLarge("Request body is larger than " + MAX_BODY + " bytes");
+        }
+        String body = new String(bytes, StandardCharsets.UTF_8);
+        try (JsonRecipeReader reader = new JsonRecipeReader(new StringReader("[" + body + "]"))) {
+            Map<String, String> fields = reader.nextFields();
+            if (fields == null || reader.nextFields() != null) {
+                throw new IllegalArgumentException("Expected exactly one recipe object");
+            }
+            checkLength(fields, "name", MAX_NAME_LENGTH);
+            checkLength(fields, "imagePath", MAX_NAME_LENGTH);
+            checkLength(fields, "cuisineType", MAX_TERM_LENGTH);
+            checkTerms(fields, "ingredients");
+            checkTerms(fields, "dietaryPreferences");
+            checkNewTerms(fields);
+            return RecipeReader.toRecipe(fields, 1);
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage(), e); // Malformed input is the client's mistake
+        }
+    }
+
+    private static void checkLength(Map<String, String> fields, String field, int max) {
+        String value = fields.get(field);
+        if (value != null && value.length() > max) {
+            throw new IllegalArgumentException(field + " is longer than " + max + " characters");
+        }
+    }
+
+    // Checks a comma-separated list field: at most MAX_TERMS entries of at most MAX_TERM_LENGTH characters
+    private static void checkTerms(Map<String, String> fields, String field) {
+        String value = fields.get(field);
+        if (value == null) {
+            return;
+        }
+        String[] terms = value.split(",");
+        if (terms.length > MAX_TERMS) {
+            throw new IllegalArgumentException(field + " lists more than " + MAX_TERMS + " entries");
+        }
+        for (String term : terms) {
+            if (term.trim().length() > MAX_TERM_LENGTH) {
+                throw new IllegalArgumentException(field + " has an entry longer than " + MAX_TERM_LENGTH + " characters");
+            }
+        }
+    }
+
+    // Names enter the shared dictionaries for good and the dictionaries are bounded, so one request may only add a
+    // few names none of the recipes used before
+    private static void checkNewTerms(Map<String, String> fields) {
+        Set<String> added = new HashSet<>();
+        addNewTerms(added, Recipe.INGREDIENTS, "ingredients:", fields.get("ingredients"));
+        addNewTerms(added, Recipe.CUISINES, "cuisineType:", fields.get("cuisineType"));
+        addNewTerms(added, Recipe.DIETARY_TAGS, "dietaryPreferences:", fields.get("dietaryPreferences"));
+        if (added.size() > MAX_NEW_TERMS) {
+            throw new IllegalArgumentException("At most " + MAX_NEW_TERMS
+                    + " new ingredients, cuisines or dietary tags per request");
+        }
+    }
+
+    // Adds each entry of a comma-separated list that is not in the dictionary yet, prefixed by its field
+    private static void addNewTerms(Set<String> added, TermDictionary dictionary, String field, String list) {
+        if (list == null) {
+            return;
+        }
+        for (String term : list.split(",")) {
+            String trimmed = term.trim();
+            if (!trimmed.isEmpty() && dictionary.idOf(trimmed) < 0) {
+                added.add(field + trimmed.toLowerCase(Locale.ROOT));
+            }
+        }
+    }
+
+    // Runs a handler and sends its JSON, mapping bad input and unreadable bodies to 400, unknown paths to 404,
+    // unsupported methods to 405, oversized bodies to 413 and bugs to 500; a successful POST answers 201.
+    // Bugs are logged, not sent to the client
+    private static void respond(HttpExchange exchange, String allowed, Handler handler) throws IOException {
+        long start = System.nanoTime();
+        int status;
+        String body;
+        try {
+            if (!Arrays.asList(allowed.split(", ")).contains(exchange.getRequestMethod())) {
+                throw new MethodNotAllowed(allowed);
+            }
+            body = handler.handle(exchange);
+            status = exchange.getRequestMethod().equals("POST") ? 201 : 200;
+        } catch (MethodNotAllowed e) {
+            exchange.getResponseHeaders().set("Allow", e.getMessage());
+            status = 405;
+            body = error("Allowed methods: " + e.getMessage());
+        } catch (NotFound e) {
+            status = 404;
+            body = error(e.getMessage());
+        } catch (PayloadTooLarge e) {
+            status = 413;
+            body = error(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (IOException e) {
+            status = 400;
+            body = error("Could not read the request body: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Internal error answering " + exchange.getRequestMethod() + " " + exchange.getRequestURI());
+            e.printStackTrace();
+            status = 500;
+            body = error("Internal error");
+        }
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+        Metrics.HTTP_REQUEST.recordSince(start);
+    }
+
+    // Answers GET /metrics with the plain-text report, for scraping or a quick look with curl
+    private static void metrics(HttpExchange exchange) throws IOException {
+        boolean get = "GET".equals(exchange.getRequestMethod());
+        byte[] bytes = (get ? Metrics.report() : "Only GET is supported\n").getBytes(StandardCharsets.UTF_8);
+        if (!get) {
+            exchange.getResponseHeaders().set("Allow", "GET");
+        }
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(get ? 200 : 405, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void appendRecipe(StringBuilder json, int id, Recipe recipe, boolean withInstructions) {
+        json.append("{\"id\":").append(id);
+        json.append(",\"name\":");
+        quote(json, recipe.getName());
+        json.append(",\"ingredients\":");
+        quote(json, recipe.getIngredients());
+        if (withInstructions) {
+            json.append(",\"instructions\":");
+            quote(json, recipe.getInstructions());
+        }
+        json.append(",\"cookingTime\":").append(recipe.getCookingTime());
+        json.append(",\"imagePath\":");
+        quote(json, recipe.getImagePath());
+        json.append(",\"difficulty\":");
+        quote(json, recipe.getDifficulty());
+        json.append(",\"prepTime\":").append(recipe.getPrepTime());
+        json.append(",\"cuisineType\":");
+        quote(json, recipe.getCuisineType());
+        json.append(",\"dietaryPreferences\":");
+        quote(json, recipe.getDietaryPreferences());
+        json.append('}');
+    }
+
+    // Appends text as a JSON string literal
+    static void quote(StringBuilder json, String text) {
+        json.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"': json.append("\\\""); break;
+                case '\\': json.append("\\\\"); break;
+                case '\n': json.append("\\n"); break;
+                case '\r': json.append("\\r"); break;
+                case '\t': json.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+
+    private static String error(String message) {
+        StringBuilder json = new StringBuilder("{\"error\":");
+        quote(json, message == null ? "Bad request" : message);
+        return json.append('}').toString();
+    }
+
+    // Decodes a raw query string such as "q=chicken%2C+rice&limit=10"; later repeats of a name win
+    static Map<String, String> parameters(String rawQuery) {
+        Map<String, String> parameters = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return parameters;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return parameters;
+    }
+
+    // Facet filter value, "All" when absent
+    private static String facet(Map<String, String> parameters, String name) {
+        String value = parameters.get(name);
+        return value == null || value.isEmpty() ? RecipeFacets.ALL : value;
+    }
+
+    // Parses "relevance", "total_time", "difficulty" or "name", relevance when absent
+    private static SortOrder sortOrder(String value) {
+        if (value == null || value.isEmpty()) {
+            return SortOrder.RELEVANCE;
+        }
+        try {
+            return SortOrder.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown sort: " + value);
+        }
+    }
+
+    private static int number(Map<String, String> parameters, String name, int min, int max, int fallback) {
+        String value = parameters.get(name);
+        if (value == null || value.isEmpty()) {
+            return fallback;
+        }
+        try {
+            int number = Integer.parseInt(value);
+            if (number < min || number > max) {
+                throw new IllegalArgumentException(name + " must be between " + min + " and " + max);
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value);
+        }
+    }
+
+    // Produces the JSON body of a successful request
+    private interface Handler {
+        String handle(HttpExchange exchange) throws IOException;
+    }
+
+    // Thrown by handlers for paths that name nothing, answered with 404
+    private static final class NotFound extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        NotFound(String message) {
+            super(message);
+        }
+    }
+
+    // Thrown for a method the path does not support, answered with 405; the message lists the allowed methods
+    private static final class MethodNotAllowed extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        MethodNotAllowed(String allowed) {
+            super(allowed);
+        }
+    }
+
+    // Thrown when a request body is over MAX_BODY, answered with 413
+    private static final class PayloadTooLarge extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        PayloadTooLarge(String message) {
+            super(message);
+        }
+    }
+}
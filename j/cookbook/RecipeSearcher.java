@@ -0,0 +1,468 @@
+package cookbook;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.IntFunction;
+
+// Immutable snapshot of the catalogue answering search queries, independently of any UI.
+// The catalogue is held in segments, each with its own index, facets, ranker and orders, whose results are merged.
+// Large catalogues search their segments in parallel, one per core by default. Edits return a new snapshot that
+// shares the untouched segments: a changed recipe gets a small segment of its own, the version it replaces is
+// marked deleted in a copy of its segment's deletion bitmap, and small segments are merged as they pile up.
+class RecipeSearcher {
+    static final String THREADS_PROPERTY = "cookbook.search.threads"; // System property overriding the thread count
+    static final int MIN_SHARD_SIZE = 20_000; // Below this, forking a segment costs more than searching it
+
+    private final CatalogueSegment[] segments; // Oldest first
+    private final BitSet[] deleted; // Deleted local ids per segment, null for none; never modified once published
+    private final int nextId; // Id the next added recipe gets; ids are never reused
+    private final int size; // Number of live recipes
+    private final boolean ordered; // Whether the segments hold ascending, non-overlapping id ranges in order
+    private final RecipeFacets.Counts counts; // Live recipes per facet value, adjusted by each edit
+    private final int threads; // Configured search threads
+    private final boolean rankInstructions; // Whether relevance counts the instructions, see RecipeRepository.holdsInstructions
+    private final ForkJoinPool pool; // Evaluates segments in parallel, or null with a single thread
+
+    // Searches with the thread count from the cookbook.search.threads property, by default one per core
+    public RecipeSearcher(List<Recipe> recipes) {
+        this(recipes, true);
+    }
+
+    // Same, ranking on names and ingredients only unless rankInstructions is set
+    public RecipeSearcher(List<Recipe> recipes, boolean rankInstructions) {
+        this(recipes, Integer.getInteger(THREADS_PROPERTY, Runtime.getRuntime().availableProcessors()), rankInstructions);
+    }
+
+    // Searches with up to the given number of threads, splitting the catalogue into one segment per thread
+    public RecipeSearcher(List<Recipe> recipes, int threads) {
+        this(recipes, threads, true);
+    }
+
+    public RecipeSearcher(List<Recipe> recipes, int threads, boolean rankInstructions) {
+        this.threads = threads;
+        this.rankInstructions = rankInstructions;
+        this.pool = threads > 1 ? new ForkJoinPool(threads) : null;
+        int segmentCount = Math.max(1, Math.min(threads, recipes.size() / MIN_SHARD_SIZE));
+        List<CatalogueSegment> built = evaluate(segmentCount, segmentCount > 1, s -> {
+            int start = (int) ((long) recipes.size() * s / segmentCount);
+            int end = (int) ((long) recipes.size() * (s + 1) / segmentCount);
+            return CatalogueSegment.range(recipes.subList(start, end), start, rankInstructions); // Index the segments in parallel too
+        });
+        this.segments = built.toArray(new CatalogueSegment[0]);
+        this.deleted = new BitSet[segments.length];
+        this.nextId = recipes.size();
+        this.size = recipes.size();
+        this.ordered = true;
+        List<RecipeFacets.Counts> parts = new ArrayList<>(segments.length);
+        for (CatalogueSegment segment : segments) {
+            parts.add(segment.facets().counts());
+        }
+        this.counts = RecipeFacets.Counts.sum(parts);
+    }
+
+    private RecipeSearcher(RecipeSearcher previous, List<CatalogueSegment> segments, List<BitSet> deleted, int nextId,
+                           RecipeFacets.Counts counts) {
+        this.threads = previous.threads;
+        this.rankInstructions = previous.rankInstructions;
+        this.pool = previous.pool;
+        this.segments = segments.toArray(new CatalogueSegment[0]);
+        this.deleted = deleted.toArray(new BitSet[0]);
+        this.nextId = nextId;
+        int live = 0;
+        boolean inOrder = true;
+        int lastId = -1; // Highest id of the segments so far, skipping empty ones, which hold no ids to compare
+        for (int s = 0; s < this.segments.length; s++) {
+            live += liveCount(this.segments[s], this.deleted[s]);
+            if (this.segments[s].size() > 0) {
+                inOrder &= this.segments[s].firstId() > lastId;
+                lastId = this.segments[s].lastId();
+            }
+        }
+        this.size = live;
+        this.ordered = inOrder;
+        this.counts = counts;
+    }
+
+    // Number of live recipes
+    public int size() {
+        return size;
+    }
+
+    // Id the next added recipe will get
+    public int nextId() {
+        return nextId;
+    }
+
+    // Returns the recipe with the given id, or null if there is none or it was deleted
+    public Recipe get(int id) {
+        for (int s = segments.length - 1; s >= 0; s--) { // The newest version lives in the newest segment
+            int local = segments[s].localOf(id);
+            if (local >= 0 && (deleted[s] == null || !deleted[s].get(local))) {
+                return segments[s].recipe(local);
+            }
+        }
+        return null;
+    }
+
+    // Read-only list of the recipes with the given ids, resolved on access
+    public List<Recipe> recipes(int[] ids) {
+        return new AbstractList<Recipe>() {
+            @Override
+            public Recipe get(int index) {
+                return RecipeSearcher.this.get(ids[index]);
+            }
+
+            @Override
+            public int size() {
+                return ids.length;
+            }
+        };
+    }
+
+    // Live recipes with the facet value, or all of them for "All"; a lookup, cheap enough to call on every paint
+    public int difficultyCount(String value) {
+        return counts.difficultyCount(value);
+    }
+
+    public int cuisineCount(String value) {
+        return counts.cuisineCount(value);
+    }
+
+    public int dietaryCount(String value) {
+        return counts.dietaryCount(value);
+    }
+
+    // Returns the ascending ids of recipes matching the query
+    public int[] search(SearchQuery query) {
+        return search(query, null);
+    }
+
+    // Returns the ascending ids of recipes matching the query, looking only at the ids in within when given.
+    // Throws CancellationException if the calling thread is interrupted part way through.
+    public int[] search(SearchQuery query, int[] within) {
+        return join(evaluate(s -> segments[s].toCatalogueIds(
+                segments[s].search(query, segments[s].local(within, deleted[s]), deleted[s]))));
+    }
+
+    // Recipes that can be cooked from the pantry when at most maxMissing of their ingredients are bought, grouped by
+    // how many they lack: element m lists the ids of recipes missing exactly m, in the given order (relevance keeps
+    // catalogue order). Each segment walks only the pantry ingredients' posting lists; no ingredient list is read.
+    public int[][] pantry(Pantry pantry, int maxMissing, SortOrder order) {
+        int[] ingredients = pantry.getIngredientIds();
+        List<int[][]> parts = evaluate(s -> {
+            int[][] byMissing = segments[s].pantry(ingredients, maxMissing, deleted[s]);
+            for (int[] locals : byMissing) {
+                segments[s].toCatalogueIds(locals);
+            }
+            return byMissing;
+        });
+        int[][] result = new int[maxMissing + 1][];
+        for (int missing = 0; missing <= maxMissing; missing++) {
+            List<int[]> bucket = new ArrayList<>(parts.size());
+            for (int[][] part : parts) {
+                bucket.add(part[missing]);
+            }
+            result[missing] = join(bucket);
+            if (order != SortOrder.RELEVANCE) {
+                result[missing] = arrange(result[missing], order);
+            }
+        }
+        return result;
+    }
+
+    // Joins the ascending catalogue ids found in each segment into one ascending array. Segments in id order are
+    // concatenated; once edits have put recipes in later segments than their neighbours, the lists are merged in
+    // pairs, which takes log(segments) passes over the ids
+    private int[] join(List<int[]> parts) {
+        if (parts.size() == 1) {
+            return parts.get(0);
+        }
+        if (!ordered) {
+            List<int[]> lists = parts;
+            while (lists.size() > 1) {
+                List<int[]> merged = new ArrayList<>((lists.size() + 1) / 2);
+                for (int i = 0; i + 1 < lists.size(); i += 2) {
+                    merged.add(mergeAscending(lists.get(i), lists.get(i + 1)));
+                }
+                if (lists.size() % 2 == 1) {
+                    merged.add(lists.get(lists.size() - 1));
+                }
+                lists = merged;
+            }
+            return lists.get(0);
+        }
+        int total = 0;
+        for (int[] part : parts) {
+            total += part.length;
+        }
+        int[] ids = new int[total];
+        int count = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, ids, count, part.length);
+            count += part.length;
+        }
+        return ids;
+    }
+
+    // Merges two ascending id lists; no id is in both, as each live recipe belongs to exactly one segment
+    private static int[] mergeAscending(int[] a, int[] b) {
+        int[] merged = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int count = 0;
+        while (i < a.length && j < b.length) {
+            merged[count++] = a[i] < b[j] ? a[i++] : b[j++];
+        }
+        System.arraycopy(a, i, merged, count, a.length - i);
+        System.arraycopy(b, j, merged, count + a.length - i, b.length - j);
+        return merged;
+    }
+
+    // Lists matches, as returned by search(), in the query's sort order. Relevance keeps only the best maxScored
+    // recipes, quicker ones first among equal scores, so keywords that score nothing (or none at all) still list
+    // the quickest matches first; the other orders return every match.
+    public int[] rank(SearchQuery query, int[] matches, int maxScored) {
+        if (query.getSort() != SortOrder.RELEVANCE) {
+            return arrange(matches, query.getSort());
+        }
+        List<RecipeRanker> rankers = new ArrayList<>(segments.length);
+        for (CatalogueSegment segment : segments) {
+            rankers.add(segment.ranker());
+        }
+        RecipeRanker.Statistics statistics = RecipeRanker.statistics(rankers, query.getKeywords());
+        List<RecipeRanker.Ranked> parts = evaluate(s -> {
+            RecipeRanker.Ranked ranked = segments[s].ranker().top(segments[s].local(matches, deleted[s]), statistics, maxScored);
+            segments[s].toCatalogueIds(ranked.ids);
+            return ranked;
+        });
+        return RecipeRanker.merge(parts.toArray(new RecipeRanker.Ranked[0]), maxScored);
+    }
+
+    // Suggests a spelling correction of the keywords, e.g. "tumeric" -> "turmeric", or returns null when each keyword
+    // starts some name word or ingredient or nothing is close to it. A keyword is replaced by the nearest term,
+    // preferring the one more recipes contain; deleted recipes still count until their segment is rewritten.
+    public String[] corrections(String[] keywords) {
+        List<SpellingIndex> indexes = new ArrayList<>(segments.length);
+        for (CatalogueSegment segment : segments) {
+            indexes.add(segment.spelling());
+        }
+        String[] corrected = keywords.clone();
+        boolean changed = false;
+        for (int k = 0; k < corrected.length; k++) {
+            String suggestion = SpellingIndex.suggest(indexes, corrected[k]);
+            if (suggestion != null) {
+                corrected[k] = suggestion;
+                changed = true;
+            }
+        }
+        return changed ? corrected : null;
+    }
+
+    // Returns a snapshot with the recipe added under nextId()
+    public RecipeSearcher withAdded(Recipe recipe) {
+        return withChange(nextId, recipe, nextId + 1);
+    }
+
+    // Returns a snapshot where the recipe with the given id is replaced; the id stays the same
+    public RecipeSearcher withUpdated(int id, Recipe recipe) {
+        requireLive(id);
+        return withChange(id, recipe, nextId);
+    }
+
+    // Returns a snapshot without the recipe with the given id
+    public RecipeSearcher withDeleted(int id) {
+        requireLive(id);
+        return withChange(id, null, nextId);
+    }
+
+    // Stops the search threads; no snapshot sharing them may be used afterwards
+    public void shutdown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    private void requireLive(int id) {
+        if (get(id) == null) {
+            throw new IllegalArgumentException("No recipe with id " + id);
+        }
+    }
+
+    // Marks the live version of id deleted, then adds recipe under id unless it is null
+    private RecipeSearcher withChange(int id, Recipe recipe, int newNextId) {
+        List<CatalogueSegment> newSegments = new ArrayList<>(Arrays.asList(segments));
+        List<BitSet> newDeleted = new ArrayList<>(Arrays.asList(deleted));
+        Recipe replaced = null;
+        for (int s = segments.length - 1; s >= 0; s--) {
+            int local = segments[s].localOf(id);
+            if (local >= 0 && (deleted[s] == null || !deleted[s].get(local))) {
+                replaced = segments[s].recipe(local);
+                BitSet marks = deleted[s] == null ? new BitSet() : (BitSet) deleted[s].clone(); // Readers keep the old bitmap
+                marks.set(local);
+                newDeleted.set(s, marks);
+                break;
+            }
+        }
+        if (recipe != null) {
+            newSegments.add(new CatalogueSegment(new int[]{id}, Collections.singletonList(recipe), rankInstructions));
+            newDeleted.add(null);
+        }
+        compact(newSegments, newDeleted);
+        return new RecipeSearcher(this, newSegments, newDeleted, newNextId, counts.with(replaced, recipe));
+    }
+
+    // Rewrites segments that are mostly deleted, then merges the newest segments while the newest is at least
+    // half the size of the one before it, like a binary counter: each recipe is re-indexed O(log n) times.
+    // Merges stop at the size one search thread should handle, so large catalogues keep their parallelism.
+    private void compact(List<CatalogueSegment> segments, List<BitSet> deleted) {
+        for (int s = segments.size() - 1; s >= 0; s--) {
+            BitSet marks = deleted.get(s);
+            if (marks != null && marks.cardinality() * 2 > segments.get(s).size()) {
+                CatalogueSegment rewritten = merge(segments.subList(s, s + 1), deleted.subList(s, s + 1));
+                if (rewritten == null) {
+                    segments.remove(s);
+                    deleted.remove(s);
+                } else {
+                    segments.set(s, rewritten);
+                    deleted.set(s, null);
+                }
+            }
+        }
+        int live = 0;
+        for (int s = 0; s < segments.size(); s++) {
+            live += liveCount(segments.get(s), deleted.get(s));
+        }
+        long maxSize = Math.max(MIN_SHARD_SIZE, (live + threads - 1L) / Math.max(1, threads));
+        while (segments.size() >= 2) {
+            int last = segments.size() - 1;
+            int newest = liveCount(segments.get(last), deleted.get(last));
+            int before = liveCount(segments.get(last - 1), deleted.get(last - 1));
+            if (newest * 2L < before || (long) newest + before > maxSize) {
+                break;
+            }
+            CatalogueSegment merged = merge(segments.subList(last - 1, last + 1), deleted.subList(last - 1, last + 1));
+            segments.subList(last - 1, last + 1).clear();
+            deleted.subList(last - 1, last + 1).clear();
+            if (merged != null) {
+                segments.add(merged);
+                deleted.add(null);
+            }
+        }
+    }
+
+    // Indexes the live recipes of the given segments (at most two) into one, or returns null when none are live
+    private CatalogueSegment merge(List<CatalogueSegment> parts, List<BitSet> deleted) {
+        int total = 0;
+        for (int p = 0; p < parts.size(); p++) {
+            total += liveCount(parts.get(p), deleted.get(p));
+        }
+        if (total == 0) {
+            return null;
+        }
+        long[] entries = new long[total]; // Catalogue id in the high half, then the part and its local id
+        int count = 0;
+        for (int p = 0; p < parts.size(); p++) {
+            CatalogueSegment part = parts.get(p);
+            BitSet marks = deleted.get(p);
+            for (int local = 0; local < part.size(); local++) {
+                if (marks == null || !marks.get(local)) {
+                    entries[count++] = (long) part.id(local) << 32 | (long) p << 31 | local;
+                }
+            }
+        }
+        Arrays.sort(entries); // Ascending catalogue ids
+        int[] ids = new int[total];
+        List<Recipe> recipes = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            ids[i] = (int) (entries[i] >>> 32);
+            recipes.add(parts.get((int) (entries[i] >>> 31 & 1)).recipe((int) (entries[i] & Integer.MAX_VALUE)));
+        }
+        return new CatalogueSegment(ids, recipes, rankInstructions);
+    }
+
+    private static int liveCount(CatalogueSegment segment, BitSet marks) {
+        return segment.size() - (marks == null ? 0 : marks.cardinality());
+    }
+
+    // Lists ascending matches in a precomputed order: each segment orders its own matches, then the segments'
+    // lists are merged, comparing only their heads
+    private int[] arrange(int[] matches, SortOrder order) {
+        List<int[]> parts = evaluate(s -> segments[s].orders().arrange(segments[s].local(matches, deleted[s]), order));
+        if (parts.size() == 1) {
+            return segments[0].toCatalogueIds(parts.get(0));
+        }
+        int[] result = new int[matches.length];
+        int[] heads = new int[parts.size()];
+        for (int out = 0; out < result.length; out++) {
+            int best = -1;
+            for (int s = 0; s < parts.size(); s++) {
+                if (heads[s] == parts.get(s).length) {
+                    continue;
+                }
+                if (best < 0) {
+                    best = s;
+                    continue;
+                }
+                int a = parts.get(s)[heads[s]];
+                int b = parts.get(best)[heads[best]];
+                int byKey = segments[s].orders().compare(order, a, segments[best].orders(), b);
+                if (byKey < 0 || byKey == 0 && segments[s].id(a) < segments[best].id(b)) {
+                    best = s;
+                }
+            }
+            result[out] = segments[best].id(parts.get(best)[heads[best]++]);
+        }
+        return result;
+    }
+
+    // Applies work to every segment and returns the results in segment order, in parallel once the
+    // catalogue is large enough to pay for forking
+    private <T> List<T> evaluate(IntFunction<T> work) {
+        return evaluate(segments.length, pool != null && size >= 2 * MIN_SHARD_SIZE, work);
+    }
+
+    // Runs work for 0..count-1. In parallel, all but the first are forked to the pool while the calling thread
+    // does the first. Interrupting the caller abandons work not yet started and throws CancellationException;
+    // work already running finishes its own segment.
+    private <T> List<T> evaluate(int count, boolean parallel, IntFunction<T> work) {
+        List<T> results = new ArrayList<>(count);
+        if (!parallel || count == 1) {
+            for (int s = 0; s < count; s++) {
+                results.add(work.apply(s));
+            }
+            return results;
+        }
+        List<ForkJoinTask<T>> forked = new ArrayList<>(count - 1);
+        try {
+            for (int s = 1; s < count; s++) {
+                int segment = s;
+                forked.add(pool.submit(() -> work.apply(segment)));
+            }
+            results.add(work.apply(0));
+            for (ForkJoinTask<T> task : forked) {
+                results.add(task.get());
+            }
+            return results;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt(); // Keep the flag for the caller's own checks
+            throw new CancellationException();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            for (ForkJoinTask<T> task : forked) {
+                task.cancel(false); // No-op for finished tasks
+            }
+        }
+    }
+}
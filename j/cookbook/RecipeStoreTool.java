@@ -0,0 +1,22 @@
+package cookbook;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+// Command line converter from JSON or CSV catalogues to the memory-mapped binary format
+class RecipeStoreTool {
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 || !args[1].endsWith(BinaryRecipeRepository.EXTENSION)) {
+            System.err.println("Usage: RecipeStoreTool <recipes.json|recipes.csv> <catalogue" + BinaryRecipeRepository.EXTENSION + ">");
+            System.exit(2);
+        }
+        Path source = Paths.get(args[0]);
+        Path target = Paths.get(args[1]);
+        long start = System.nanoTime();
+        try (RecipeReader reader = RecipeReader.open(source)) {
+            int count = BinaryRecipeWriter.write(reader, target);
+            System.out.printf("Wrote %,d recipes to %s in %d ms%n", count, target, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package cookbook;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Immutable snapshot of what the user asked for: keywords, the three facet filters and the result order
+class SearchQuery {
+    private final String[] keywords; // Lowercased keywords, all of which must match
+    private final String difficulty; // Selected difficulty, or "All"
+    private final String cuisine; // Selected cuisine, or "All"
+    private final String dietary; // Selected dietary preference, or "All"
+    private final SortOrder sort; // Order the matches are listed in
+
+    public SearchQuery(String[] keywords, String difficulty, String cuisine, String dietary) {
+        this(keywords, difficulty, cuisine, dietary, SortOrder.RELEVANCE);
+    }
+
+    public SearchQuery(String[] keywords, String difficulty, String cuisine, String dietary, SortOrder sort) {
+        this.keywords = keywords.clone();
+        this.difficulty = difficulty;
+        this.cuisine = cuisine;
+        this.dietary = dietary;
+        this.sort = sort;
+    }
+
+    // Lowercases the search input and splits it into keywords by commas, trimming whitespace around them
+    public static String[] keywordsOf(String searchInput) {
+        return searchInput.toLowerCase().split("\\s*,\\s*");
+    }
+
+    // The same filters and order with other keywords, e.g. a spelling correction of these
+    public SearchQuery withKeywords(String[] keywords) {
+        return new SearchQuery(keywords, difficulty, cuisine, dietary, sort);
+    }
+
+    public String[] getKeywords() { return keywords.clone(); }
+    public String getDifficulty() { return difficulty; }
+    public String getCuisine() { return cuisine; }
+    public String getDietary() { return dietary; }
+    public SortOrder getSort() { return sort; }
+
+    // Tells whether this query matches exactly the same recipes as other, whatever order each lists them in
+    public boolean sameMatches(SearchQuery other) {
+        return Arrays.equals(keywords, other.keywords) && Objects.equals(difficulty, other.difficulty)
+                && Objects.equals(cuisine, other.cuisine) && Objects.equals(dietary, other.dietary);
+    }
+
+    // Tells whether this query only narrows previous, so the search can start from previous's results.
+    // That holds when each earlier keyword occurs inside one of the new keywords (e.g. "chick" became "chicken")
+    // and no filter was relaxed; recipes newly matched by an exact ingredient are added back by the index.
+    public boolean refines(SearchQuery previous) {
+        for (String earlier : previous.keywords) {
+            boolean extended = false;
+            for (String keyword : keywords) {
+                if (keyword.contains(earlier)) {
+                    extended = true;
+                    break;
+                }
+            }
+            if (!extended) {
+                return false;
+            }
+        }
+        return narrows(previous.difficulty, difficulty)
+                && narrows(previous.cuisine, cuisine)
+                && narrows(previous.dietary, dietary);
+    }
+
+    private static boolean narrows(String earlier, String current) {
+        return RecipeFacets.ALL.equals(earlier) || Objects.equals(earlier, current);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof SearchQuery)) {
+            return false;
+        }
+        SearchQuery other = (SearchQuery) o;
+        return sameMatches(other) && sort == other.sort;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(Arrays.hashCode(keywords), difficulty, cuisine, dietary, sort);
+    }
+}
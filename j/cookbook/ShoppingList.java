@@ -0,0 +1,81 @@
+package cookbook;
+
+import java.util.Arrays;
+import java.util.List;
+
+// Ingredients to buy for a set of recipes, merged so each appears once with the number of recipes needing it.
+// Built in a single pass over the recipes' ingredient ids, counting into a small open-addressing table sized to
+// the recipes' ingredient lists rather than to the whole dictionary, so no names are compared and a list for two
+// recipes costs no more than their ingredients however many ingredients the catalogue knows.
+class ShoppingList {
+    private final int[] ingredientIds; // In the order first needed
+    private final int[] recipeCounts; // Recipes needing each ingredient, parallel to ingredientIds
+    private final int recipes; // Number of recipes merged
+
+    private ShoppingList(int[] ingredientIds, int[] recipeCounts, int recipes) {
+        this.ingredientIds = ingredientIds;
+        this.recipeCounts = recipeCounts;
+        this.recipes = recipes;
+    }
+
+    // Merges the ingredients of the recipes, leaving out those already in the pantry
+    public static ShoppingList of(List<Recipe> recipes, Pantry pantry) {
+        int entries = 0; // Ingredients listed over all the recipes, a bound on the distinct ones
+        for (Recipe recipe : recipes) {
+            entries += recipe.getIngredientIds().length;
+        }
+        int bits = 32 - Integer.numberOfLeadingZeros(entries) + 1; // At least twice as many slots as entries
+        int[] slots = new int[1 << bits]; // Position in order + 1 of the ingredient in each slot, 0 when empty
+        int[] order = new int[entries]; // Ingredient ids in the order first needed
+        int[] counts = new int[entries]; // Recipes needing each of them so far
+        int size = 0;
+        for (Recipe recipe : recipes) {
+            int[] ids = recipe.getIngredientIds();
+            for (int i = 0; i < ids.length; i++) {
+                int id = ids[i];
+                if (pantry.contains(id) || listedBefore(ids, i)) {
+                    continue; // Owned, or already counted for this recipe
+                }
+                int slot = (id * 0x9E3779B9) >>> (32 - bits); // Fibonacci hashing spreads neighbouring ids
+                while (slots[slot] != 0 && order[slots[slot] - 1] != id) {
+                    slot = (slot + 1) & (slots.length - 1);
+                }
+                if (slots[slot] == 0) {
+                    order[size] = id;
+                    slots[slot] = ++size;
+                }
+                counts[slots[slot] - 1]++;
+            }
+        }
+        return new ShoppingList(Arrays.copyOf(order, size), Arrays.copyOf(counts, size), recipes.size());
+    }
+
+    public int size() { return ingredientIds.length; }
+    public int getRecipes() { return recipes; }
+    public String getName(int index) { return Recipe.INGREDIENTS.valueOf(ingredientIds[index]); }
+    public int getRecipeCount(int index) { return recipeCounts[index]; }
+
+    // One ingredient per line, with how many of the recipes need it when more than one does
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < size(); i++) {
+            text.append(getName(i));
+            if (recipeCounts[i] > 1) {
+                text.append(" (").append(recipeCounts[i]).append(" recipes)");
+            }
+            text.append('\n');
+        }
+        return text.toString();
+    }
+
+    // Whether ids[i] also occurs earlier in ids; ingredient lists are short, so a scan beats a set
+    private static boolean listedBefore(int[] ids, int i) {
+        for (int j = 0; j < i; j++) {
+            if (ids[j] == ids[i]) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,34 @@
+package cookbook;
+
+// Order in which search results are listed
+enum SortOrder {
+    RELEVANCE("Relevance"), // Best keyword score first, quicker recipes first on ties
+    TOTAL_TIME("Total Time"), // Quickest cookingTime + prepTime first
+    DIFFICULTY("Difficulty"), // Easiest first
+    NAME("Name"); // Alphabetical, ignoring case
+
+    private final String label; // Name shown in the sort dropdown
+
+    SortOrder(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // Parses a dropdown label such as "Total Time"
+    public static SortOrder fromLabel(String label) {
+        for (SortOrder order : values()) {
+            if (order.label.equals(label)) {
+                return order;
+            }
+        }
+        throw new IllegalArgumentException("Unknown sort order: " + label);
+    }
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
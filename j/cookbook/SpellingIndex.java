@@ -0,0 +1,181 @@
+package cookbook;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Typo-tolerant lookup over the words that keywords match: recipe name words and whole ingredient names.
+// Symmetric deletion index (as in SymSpell): every term is stored under each string left by deleting up to
+// MAX_DISTANCE of its first PREFIX_LENGTH chars, so the terms near a misspelled keyword are found by deleting
+// chars from the keyword and looking the results up. The work depends on the keyword, not on the catalogue.
+class SpellingIndex {
+    static final int MAX_DISTANCE = 2; // Largest edit distance ever corrected
+    private static final int PREFIX_LENGTH = 7; // Only this many leading chars are indexed, which bounds the deletes
+    private static final int[] NONE = new int[0];
+
+    private final String[] terms; // Sorted lowercased vocabulary
+    private final int[] frequencies; // Recipes containing each term
+    private final Map<String, int[]> deletes; // Deletion variant to the term positions it came from
+    private final String[] suffixes; // Sorted distinct suffixes of the terms, so keywords inside a term are known
+
+    // Collects the vocabulary of the given recipes
+    public SpellingIndex(List<Recipe> recipes) {
+        Map<String, int[]> counts = new HashMap<>(); // Term to number of recipes containing it
+        Set<String> seen = new HashSet<>(); // Terms of the current recipe, so each counts once
+        for (Recipe recipe : recipes) {
+            seen.clear();
+            seen.addAll(Arrays.asList(RecipeRanker.tokens(recipe.getName())));
+            for (int ingredient : recipe.getIngredientIds()) {
+                seen.add(Recipe.INGREDIENTS.valueOf(ingredient).toLowerCase());
+            }
+            for (String term : seen) {
+                counts.computeIfAbsent(term, t -> new int[1])[0]++;
+            }
+        }
+        terms = counts.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        frequencies = new int[terms.length];
+        Map<String, List<Integer>> variants = new HashMap<>();
+        Set<String> tails = new HashSet<>();
+        for (int t = 0; t < terms.length; t++) {
+            frequencies[t] = counts.get(terms[t])[0];
+            for (int start = 0; start < terms[t].length(); start++) {
+                tails.add(terms[t].substring(start));
+            }
+            for (String variant : variants(prefix(terms[t]), MAX_DISTANCE)) {
+                variants.computeIfAbsent(variant, v -> new ArrayList<>(2)).add(t);
+            }
+        }
+        deletes = new HashMap<>(variants.size() * 2);
+        for (Map.Entry<String, List<Integer>> entry : variants.entrySet()) {
+            deletes.put(entry.getKey(), entry.getValue().stream().mapToInt(Integer::intValue).toArray());
+        }
+        suffixes = tails.toArray(new String[0]);
+        Arrays.sort(suffixes);
+    }
+
+    // Tells whether some term contains the keyword, so it is spelled right, still being typed or, since keywords
+    // match anywhere in a name, part of a word such as "ken" of "chicken"
+    public boolean knows(String keyword) {
+        int position = Arrays.binarySearch(suffixes, keyword);
+        return position >= 0 || (-position - 1 < suffixes.length && suffixes[-position - 1].startsWith(keyword));
+    }
+
+    // Adds the terms within maxDistance edits of the keyword to found: term to {distance, recipes containing it},
+    // adding to the recipe count of terms an earlier index already found
+    public void similar(String keyword, int maxDistance, Map<String, int[]> found) {
+        Set<Integer> checked = new HashSet<>(); // A term reached through several variants counts once
+        for (String variant : variants(prefix(keyword), maxDistance)) {
+            for (int t : deletes.getOrDefault(variant, NONE)) {
+                String term = terms[t];
+                if (!checked.add(t) || Math.abs(term.length() - keyword.length()) > maxDistance) {
+                    continue;
+                }
+                int[] known = found.get(term);
+                if (known != null) {
+                    known[1] += frequencies[t];
+                } else {
+                    int distance = distance(keyword, term, maxDistance);
+                    if (distance <= maxDistance) {
+                        found.put(term, new int[]{distance, frequencies[t]});
+                    }
+                }
+            }
+        }
+    }
+
+    // Best correction of the keyword over every index of a catalogue, or null when some term contains it or
+    // none is close enough: fewest edits first, then the term more recipes contain
+    static String suggest(List<SpellingIndex> indexes, String keyword) {
+        int maxDistance = maxDistance(keyword.length());
+        if (maxDistance == 0) {
+            return null;
+        }
+        for (SpellingIndex index : indexes) {
+            if (index.knows(keyword)) {
+                return null;
+            }
+        }
+        Map<String, int[]> found = new HashMap<>();
+        for (SpellingIndex index : indexes) {
+            index.similar(keyword, maxDistance, found);
+        }
+        String best = null;
+        int[] bestEntry = null;
+        for (Map.Entry<String, int[]> entry : found.entrySet()) {
+            int[] candidate = entry.getValue();
+            if (best == null || candidate[0] < bestEntry[0]
+                    || (candidate[0] == bestEntry[0] && (candidate[1] > bestEntry[1]
+                    || (candidate[1] == bestEntry[1] && entry.getKey().compareTo(best) < 0)))) {
+                best = entry.getKey();
+                bestEntry = candidate;
+            }
+        }
+        return best;
+    }
+
+    // Edits tolerated for a keyword of the given length: none below three chars, one up to five, then two
+    static int maxDistance(int length) {
+        return length < 3 ? 0 : length <= 5 ? 1 : MAX_DISTANCE;
+    }
+
+    // Optimal string alignment distance (insertions, deletions, substitutions and adjacent swaps),
+    // or max + 1 once it is known to exceed max
+    static int distance(String a, String b, int max) {
+        int[] before = new int[b.length() + 1]; // Row i - 2
+        int[] previous = new int[b.length() + 1]; // Row i - 1
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, before[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1; // Every alignment already costs too much
+            }
+            int[] recycled = before;
+            before = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    private static String prefix(String text) {
+        return text.length() <= PREFIX_LENGTH ? text : text.substring(0, PREFIX_LENGTH);
+    }
+
+    // The text and every string left by deleting up to maxDistance of its chars
+    private static Set<String> variants(String text, int maxDistance) {
+        Set<String> variants = new HashSet<>();
+        variants.add(text);
+        List<String> level = List.of(text);
+        for (int d = 0; d < maxDistance; d++) {
+            List<String> next = new ArrayList<>();
+            for (String word : level) {
+                for (int i = 0; i < word.length(); i++) {
+                    String shorter = word.substring(0, i) + word.substring(i + 1);
+                    if (variants.add(shorter)) {
+                        next.add(shorter);
+                    }
+                }
+            }
+            level = next;
+        }
+        return variants;
+    }
+}
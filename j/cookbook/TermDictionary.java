@@ -0,0 +1,63 @@
+package cookbook;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Interns strings such as ingredient or cuisine names as dense int ids, shared by every recipe.
+// Matching is case-insensitive: "Olive Oil" and "olive oil" get the same id, shown as first seen.
+// The dictionaries are shared and never shrink, so each one holds at most a fixed number of terms.
+class TermDictionary {
+    private final int limit; // Most distinct terms this dictionary will hold
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>(); // Lowercased term to id
+    private volatile String[] values = new String[16]; // Display form of each id; slots are written once, before the id is published
+    private volatile int size; // Number of ids handed out
+
+    TermDictionary(int limit) {
+        this.limit = limit;
+    }
+
+    // Returns the id of the term, assigning the next free id if it has not been seen before;
+    // throws IllegalArgumentException when a new term would go past the limit
+    public int intern(String term) {
+        String value = term.trim();
+        Integer id = ids.get(value.toLowerCase());
+        return id != null ? id : add(value);
+    }
+
+    // Returns the id of the term, or -1 if no recipe uses it; the lookup ignores case and surrounding whitespace
+    public int idOf(String term) {
+        Integer id = ids.get(term.trim().toLowerCase());
+        return id != null ? id : -1;
+    }
+
+    // Returns the display form of the id
+    public String valueOf(int id) {
+        return values[id];
+    }
+
+    // Number of distinct terms interned so far
+    public int size() {
+        return size;
+    }
+
+    private synchronized int add(String value) {
+        String key = value.toLowerCase();
+        Integer existing = ids.get(key);
+        if (existing != null) {
+            return existing; // Another thread interned it first
+        }
+        int id = size;
+        if (id == limit) {
+            throw new IllegalArgumentException("Too many distinct terms (limit " + limit + "): " + value);
+        }
+        String[] current = values;
+        if (id == current.length) {
+            current = Arrays.copyOf(current, id * 2); // Readers keep using the old array until the swap below
+        }
+        current[id] = value; // Nobody reads this slot before the id is published
+        values = current;
+        size = id + 1;
+        ids.put(key, id); // Published last, so anyone who can see the id can also read its value
+        return id;
+    }
+}
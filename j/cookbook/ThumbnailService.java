@@ -0,0 +1,310 @@
+package cookbook;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+// Decodes and downscales recipe images off the Event Dispatch Thread, with an in-memory LRU and an optional disk cache
+class ThumbnailService {
+    static final int MAX_QUEUED = 256; // Decodes waiting at most; older ones are dropped, their rows long scrolled past
+    static final int MAX_FAILED = 4096; // Failed thumbnails remembered at most, least recently asked for forgotten first
+
+    private final ExecutorService decoder; // Bounded pool doing all decoding and scaling
+    private final long maxCacheBytes; // Upper bound on the pixel memory held by the LRU cache
+    private final Path diskCacheDir; // Directory for persisted thumbnails, or null to keep them in memory only
+    private final LinkedHashMap<String, BufferedImage> cache = new LinkedHashMap<>(64, 0.75f, true); // Access-ordered, so the eldest entry is least recently used
+    private final Map<String, List<Consumer<BufferedImage>>> pending = new HashMap<>(); // Callbacks waiting on an in-flight decode
+    private final Map<String, Boolean> failed = new LinkedHashMap<>(64, 0.75f, true) { // Thumbnails whose image could not be loaded, so they are not retried
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_FAILED;
+        }
+    };
+    private long cacheBytes; // Pixel memory currently held by the cache
+
+    // Creates a service with the given decoder thread count, memory budget and disk cache directory (null disables it)
+    public ThumbnailService(int threads, long maxCacheBytes, Path diskCacheDir) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        // Newest requests are decoded first, so rows currently on screen beat rows already scrolled past. Flinging
+        // through a long list requests far more thumbnails than can be decoded; once MAX_QUEUED are waiting, the
+        // oldest request is dropped for each new one
+        BlockingQueue<Runnable> newestFirst = new LinkedBlockingDeque<>(MAX_QUEUED) {
+            @Override
+            public boolean offer(Runnable task) {
+                while (!offerFirst(task)) {
+                    Runnable oldest = pollLast();
+                    if (oldest instanceof Decode) {
+                        drop(((Decode) oldest).key);
+                    }
+                }
+                return true;
+            }
+        };
+        this.decoder = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, newestFirst, task -> {
+            Thread thread = new Thread(task, "thumbnail-decoder-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true); // Never keep the application alive just for pending thumbnails
+            thread.setPriority(Thread.NORM_PRIORITY - 1); // Leave the EDT ahead of background decoding
+            return thread;
+        });
+        this.maxCacheBytes = maxCacheBytes;
+        this.diskCacheDir = diskCacheDir;
+    }
+
+    // Returns the cached thumbnail if it is already in memory, otherwise null. Renderers call this on every paint,
+    // so it is not counted as a request; only request() is
+    public synchronized BufferedImage getCached(String imagePath, int width, int height) {
+        return cache.get(keyOf(imagePath, width, height));
+    }
+
+    // Tells whether loading this thumbnail has already failed
+    public synchronized boolean hasFailed(String imagePath, int width, int height) {
+        return failed.get(keyOf(imagePath, width, height)) != null;
+    }
+
+    // Delivers the thumbnail to onReady on the Event Dispatch Thread, or null if the image cannot be loaded.
+    // Cached thumbnails are delivered immediately; concurrent requests for the same thumbnail share one decode.
+    // When the request is dropped from a full queue onReady is never run; the card renderer asks again on repaint.
+    public void request(String imagePath, int width, int height, Consumer<BufferedImage> onReady) {
+        String key = keyOf(imagePath, width, height);
+        BufferedImage cached;
+        synchronized (this) {
+            cached = cache.get(key);
+            if (cached == null && failed.get(key) == null) { // Known failures are answered without touching the disk again
+                List<Consumer<BufferedImage>> waiting = pending.get(key);
+                if (waiting != null) {
+                    waiting.add(onReady); // Piggyback on the decode already in flight
+                    return;
+                }
+                waiting = new ArrayList<>();
+                waiting.add(onReady);
+                pending.put(key, waiting);
+                decoder.execute(new Decode(key, imagePath, width, height));
+                return;
+            }
+        }
+        if (cached != null) {
+            Metrics.THUMBNAIL_MEMORY_HITS.increment();
+        }
+        deliver(onReady, cached);
+    }
+
+    // Stops the decoder threads; requests still queued are dropped
+    public void shutdown() {
+        decoder.shutdownNow();
+    }
+
+    // Stores a finished thumbnail and hands it to everyone waiting for it
+    private void complete(String key, BufferedImage image) {
+        List<Consumer<BufferedImage>> waiting;
+        synchronized (this) {
+            if (image != null) {
+                put(key, image);
+            } else {
+                failed.put(key, Boolean.TRUE);
+            }
+            waiting = pending.remove(key);
+        }
+        for (Consumer<BufferedImage> onReady : waiting) {
+            deliver(onReady, image);
+        }
+    }
+
+    // Forgets a request dropped from the queue before it was decoded, so the next request for it decodes again
+    private synchronized void drop(String key) {
+        pending.remove(key);
+        Metrics.THUMBNAIL_DROPS.increment();
+    }
+
+    // Adds a thumbnail to the LRU cache and evicts least recently used entries until it fits the budget
+    private void put(String key, BufferedImage image) {
+        BufferedImage previous = cache.put(key, image);
+        cacheBytes += bytesOf(image) - (previous == null ? 0 : bytesOf(previous));
+        Iterator<BufferedImage> eldest = cache.values().iterator();
+        while (cacheBytes > maxCacheBytes && cache.size() > 1) {
+            cacheBytes -= bytesOf(eldest.next());
+            eldest.remove();
+        }
+    }
+
+    // Runs the callback on the Event Dispatch Thread, directly when already on it
+    private static void deliver(Consumer<BufferedImage> onReady, BufferedImage image) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            onReady.accept(image);
+        } else {
+            SwingUtilities.invokeLater(() -> onReady.accept(image));
+        }
+    }
+
+    // Produces the thumbnail from the disk cache when possible, otherwise decodes and scales the original
+    private BufferedImage load(String imagePath, int width, int height) {
+        Metrics.ThumbnailEvent event = new Metrics.ThumbnailEvent();
+        event.begin();
+        File source = new File(imagePath);
+        Path cached = diskCachePath(source, width, height);
+        BufferedImage thumbnail = null;
+        String from = "failed"; // Where the thumbnail came from, for the JFR event
+        try {
+            if (cached != null && Files.exists(cached)) {
+                thumbnail = ImageIO.read(cached.toFile());
+                if (thumbnail != null) {
+                    from = "disk cache";
+                    Metrics.THUMBNAIL_DISK_HITS.increment();
+                }
+            }
+            if (thumbnail == null) {
+                long start = System.nanoTime();
+                BufferedImage original = decode(source, width, height);
+                if (original != null) {
+                    thumbnail = scale(original, width, height);
+                    from = "decoded";
+                    Metrics.IMAGE_DECODE.recordSince(start);
+                    Metrics.THUMBNAIL_DECODES.increment();
+                    if (cached != null) {
+                        store(thumbnail, cached);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            thumbnail = null;
+        }
+        if (thumbnail == null) {
+            Metrics.THUMBNAIL_FAILURES.increment(); // The path is in the JFR event, with source "failed"
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.imagePath = imagePath;
+            event.width = width;
+            event.height = height;
+            event.source = from;
+            event.commit();
+        }
+        return thumbnail;
+    }
+
+    // Decodes the image, skipping source pixels when it is far larger than the requested size
+    static BufferedImage decode(File source, int width, int height) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(source)) {
+            if (input == null) {
+                return null; // The file does not exist or cannot be opened
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null; // No decoder for this format
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                ImageReadParam param = reader.getDefaultReadParam();
+                // Keep at least twice the target resolution so the final smooth scale still has detail to work with
+                int step = Math.max(1, Math.min(reader.getWidth(0) / (width * 2), reader.getHeight(0) / (height * 2)));
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Scales the image to exactly width x height, halving in steps so large reductions stay smooth
+    static BufferedImage scale(BufferedImage image, int width, int height) {
+        BufferedImage current = image;
+        int currentWidth = image.getWidth();
+        int currentHeight = image.getHeight();
+        do {
+            // Halve each axis until the next halving would undershoot, then finish at the exact target size
+            currentWidth = currentWidth / 2 >= width ? currentWidth / 2 : width;
+            currentHeight = currentHeight / 2 >= height ? currentHeight / 2 : height;
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = next.createGraphics();
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g.dispose();
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    // Writes the thumbnail to the disk cache through a temporary file so readers never see a partial image
+    private static void store(BufferedImage thumbnail, Path cached) {
+        try {
+            Files.createDirectories(cached.getParent());
+            Path temp = Files.createTempFile(cached.getParent(), "thumb", ".tmp");
+            ImageIO.write(thumbnail, "png", temp.toFile());
+            Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Metrics.THUMBNAIL_CACHE_WRITE_FAILURES.increment(); // The thumbnail is still usable from memory
+        }
+    }
+
+    // Names the cached file after the source path, size and modification time, so edited images are decoded again
+    private Path diskCachePath(File source, int width, int height) {
+        if (diskCacheDir == null || !source.isFile()) {
+            return null;
+        }
+        String identity = source.getAbsolutePath() + '|' + source.lastModified() + '|' + source.length() + '|' + width + 'x' + height;
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(identity.getBytes(StandardCharsets.UTF_8));
+            StringBuilder name = new StringBuilder();
+            for (byte b : digest) {
+                name.append(String.format("%02x", b));
+            }
+            return diskCacheDir.resolve(name.append(".png").toString());
+        } catch (NoSuchAlgorithmException e) {
+            return null; // Every JDK ships SHA-1, but fall back to memory-only caching rather than fail
+        }
+    }
+
+    // One queued decode, named so a dropped one can be told apart from other tasks
+    private final class Decode implements Runnable {
+        final String key; // Cache key of the thumbnail
+        final String imagePath;
+        final int width;
+        final int height;
+
+        Decode(String key, String imagePath, int width, int height) {
+            this.key = key;
+            this.imagePath = imagePath;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public void run() {
+            complete(key, load(imagePath, width, height));
+        }
+    }
+
+    private static String keyOf(String imagePath, int width, int height) {
+        return imagePath + '@' + width + 'x' + height;
+    }
+
+    private static long bytesOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4; // All thumbnails are 32-bit RGB
+    }
+}